@@ -6,8 +6,12 @@ import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication // includes @Configuration
+@EnableAsync // @Async methods run on the Boot managed applicationTaskExecutor
+@EnableScheduling // background refreshes, e.g. RemotiveJobIndex
 public class Application {
 
 	public static void main(String[] args) {
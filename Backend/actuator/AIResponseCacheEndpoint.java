@@ -0,0 +1,37 @@
+package com.aicareercoach.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.aicareercoach.service.AIResponseCache;
+
+/*
+ * Admin endpoint for the AI response cache.
+ * GET    /actuator/aicache -> hit/miss/eviction stats
+ * DELETE /actuator/aicache -> flush all entries
+ * (expose it with management.endpoints.web.exposure.include=aicache)
+ */
+@Component
+@Endpoint(id = "aicache")
+public class AIResponseCacheEndpoint {
+
+    private final AIResponseCache responseCache;
+
+    public AIResponseCacheEndpoint(AIResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return responseCache.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> flush() {
+        return Map.of("flushed", responseCache.clear());
+    }
+}
@@ -0,0 +1,38 @@
+package com.aicareercoach.actuator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.aicareercoach.service.AdaptiveConcurrencyLimiter;
+import com.aicareercoach.service.DependencyGuard;
+
+/*
+ * Circuit breaker / bulkhead state per upstream dependency, and the adaptive
+ * concurrency limit of each LLM provider.
+ * GET /actuator/dependencies
+ * (expose it with management.endpoints.web.exposure.include=dependencies)
+ */
+@Component
+@Endpoint(id = "dependencies")
+public class DependencyGuardEndpoint {
+
+    private final DependencyGuard dependencyGuard;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public DependencyGuardEndpoint(DependencyGuard dependencyGuard, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.dependencyGuard = dependencyGuard;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> dependencies() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("circuits", dependencyGuard.stats());
+        result.put("limiters", concurrencyLimiter.stats());
+        return result;
+    }
+}
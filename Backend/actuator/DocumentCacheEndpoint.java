@@ -0,0 +1,30 @@
+package com.aicareercoach.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.aicareercoach.service.DocumentAnalysisCache;
+
+/*
+ * Document cache state: in-memory entries, disk usage, hits and misses.
+ * GET /actuator/documentcache
+ * (expose it with management.endpoints.web.exposure.include=documentcache)
+ */
+@Component
+@Endpoint(id = "documentcache")
+public class DocumentCacheEndpoint {
+
+    private final DocumentAnalysisCache documentCache;
+
+    public DocumentCacheEndpoint(DocumentAnalysisCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> documentcache() {
+        return documentCache.stats();
+    }
+}
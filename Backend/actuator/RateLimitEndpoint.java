@@ -0,0 +1,30 @@
+package com.aicareercoach.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.aicareercoach.security.TokenBucketRateLimiter;
+
+/*
+ * Rate limiter state: configured limits, bucket count and the most depleted buckets.
+ * GET /actuator/ratelimits
+ * (expose it with management.endpoints.web.exposure.include=ratelimits)
+ */
+@Component
+@Endpoint(id = "ratelimits")
+public class RateLimitEndpoint {
+
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public RateLimitEndpoint(TokenBucketRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> ratelimits() {
+        return rateLimiter.stats(20);
+    }
+}
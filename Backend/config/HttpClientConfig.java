@@ -0,0 +1,148 @@
+package com.aicareercoach.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/*
+ * One outbound HTTP stack for Gemini, Groq, Adzuna and Remotive.
+ *
+ * Both the blocking RestTemplate and the reactive WebClient sit on the same
+ * Reactor Netty HttpClient, so they share one connection pool (pools are kept
+ * per remote host), keep-alive, HTTP/2 via ALPN where the server offers it,
+ * gzip and timeouts. Pool gauges are published to Micrometer as
+ * reactor.netty.connection.provider.* and show up under /actuator/metrics.
+ *
+ * Timeouts: connect-timeout-ms to open a connection, read-timeout-ms between reads,
+ * and on the WebClient total-timeout-ms for the whole call, response body included.
+ * SSE streams (Gemini streaming) are only bounded between events, a long answer
+ * is not cut off mid-stream. The RestTemplate has connect/read timeouts only;
+ * every upstream call goes through the WebClient.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.max-connections-per-host:50}")
+    private int maxConnectionsPerHost;
+
+    @Value("${http.client.pending-acquire-timeout-ms:5000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${http.client.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.total-timeout-ms:60000}")
+    private long totalTimeoutMs;
+
+    // full feeds (Remotive) are several MB, WebClient's default buffer limit is 256KB
+    @Value("${http.client.max-in-memory-size-bytes:33554432}")
+    private int maxInMemorySize;
+
+    @Value("${http.client.warmup-urls:https://generativelanguage.googleapis.com,https://api.groq.com,https://api.adzuna.com,https://remotive.com}")
+    private String[] warmupUrls;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider() {
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClient outboundHttpClient(ConnectionProvider outboundConnectionProvider) {
+        return HttpClient.create(outboundConnectionProvider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .secure()
+                .compress(true)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+    }
+
+    @Bean
+    public RestTemplate outboundRestTemplate(HttpClient outboundHttpClient) {
+        ReactorClientHttpRequestFactory requestFactory = new ReactorClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        // read timeout maps to Reactor Netty's responseTimeout
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean
+    public WebClient outboundWebClient(HttpClient outboundHttpClient) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(outboundHttpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .filter(totalTimeout())
+                .build();
+    }
+
+    // one deadline per call: waiting for the response, then every body chunk gets what is left of it
+    private ExchangeFilterFunction totalTimeout() {
+        return (request, next) -> Mono.defer(() -> {
+            long deadline = System.nanoTime() + totalTimeoutMs * 1_000_000;
+            TimeoutException late = new TimeoutException(request.method() + " " + request.url().getHost()
+                    + " took longer than " + totalTimeoutMs + " ms");
+            return next.exchange(request)
+                    .timeout(Duration.ofMillis(totalTimeoutMs), Mono.error(late))
+                    .map(response -> {
+                        MediaType type = response.headers().contentType().orElse(null);
+                        if (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(type)) {
+                            return response;
+                        }
+                        return response.mutate()
+                                .body(body -> body.timeout(remaining(deadline), chunk -> remaining(deadline), Flux.error(late)))
+                                .build();
+                    });
+        });
+    }
+
+    private static Mono<Long> remaining(long deadline) {
+        return Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+    }
+
+    /*
+     * Open a connection to every upstream once the app is up, so the first user
+     * request doesn't pay DNS + TCP + TLS. Failures are ignored, it's best effort.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpConnections() {
+        HttpClient httpClient = outboundHttpClient(outboundConnectionProvider());
+        httpClient.warmup().subscribe();
+        for (String url : warmupUrls) {
+            httpClient.head()
+                    .uri(url)
+                    .response()
+                    .timeout(Duration.ofMillis(totalTimeoutMs))
+                    .subscribe(response -> { }, e -> System.out.println("HTTP warm-up failed for " + url + ": " + e.getMessage()));
+        }
+    }
+}
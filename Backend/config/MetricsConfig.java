@@ -0,0 +1,58 @@
+package com.aicareercoach.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+/*
+ * Histogram buckets for the latency timers and size summaries of the hot paths
+ * (LLM calls, job boards, document extraction, JWT verification, and Boot's own
+ * spring.data.repository.invocations for AdviceHistoryRepository).
+ *
+ * Percentiles are computed from the buckets at query time (histogram_quantile), so
+ * no client-side percentiles are published: those can't be aggregated across instances.
+ * Timers get Micrometer's bucket series between metrics.timer.min-ms and max-ms;
+ * summaries (the *.chars sizes) only get the few metrics.summary.buckets boundaries.
+ *
+ * Scrape them at /actuator/prometheus
+ * (expose it with management.endpoints.web.exposure.include=prometheus)
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> PREFIXES = List.of(
+            "ai.", "llm.", "jobs.", "documents.", "auth.jwt.", "spring.data.repository.invocations");
+
+    @Bean
+    public MeterFilter hotPathDistributions(
+            @Value("${metrics.timer.min-ms:1}") long timerMinMs,
+            @Value("${metrics.timer.max-ms:120000}") long timerMaxMs,
+            @Value("${metrics.summary.buckets:1000,4000,16000,64000,256000,1000000}") double[] summaryBuckets) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (PREFIXES.stream().noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                DistributionStatisticConfig.Builder histogram = DistributionStatisticConfig.builder();
+                if (id.getType() == Meter.Type.TIMER || id.getType() == Meter.Type.LONG_TASK_TIMER) {
+                    histogram.percentilesHistogram(true)
+                            .minimumExpectedValue((double) Duration.ofMillis(timerMinMs).toNanos())
+                            .maximumExpectedValue((double) Duration.ofMillis(timerMaxMs).toNanos());
+                } else if (id.getType() == Meter.Type.DISTRIBUTION_SUMMARY) {
+                    histogram.serviceLevelObjectives(summaryBuckets);
+                } else {
+                    return config;
+                }
+                return histogram.build().merge(config);
+            }
+        };
+    }
+}
@@ -2,35 +2,78 @@ package com.aicareercoach.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.aicareercoach.dto.DocumentAnalysisResultDto;
+import com.aicareercoach.exception.ConflictException;
+import com.aicareercoach.exception.PayloadTooLargeException;
+import com.aicareercoach.exception.ResourceNotFoundException;
+import com.aicareercoach.exception.ServiceBusyException;
+import com.aicareercoach.service.AIResponseCache;
+import com.aicareercoach.service.ChatSessionService;
+import com.aicareercoach.service.DocumentAnalysisService;
+import com.aicareercoach.service.DocumentTextExtractor;
+import com.aicareercoach.service.InterviewSessionService;
+import com.aicareercoach.service.LlmPriority;
+import com.aicareercoach.service.LlmReply;
+import com.aicareercoach.service.LlmRouter;
+import com.aicareercoach.service.QuestionBankService;
+import com.aicareercoach.util.MarkdownFenceStripper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 @RestController
 @RequestMapping("/api/ai")
 public class AIController {
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
-    
-    
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Autowired
+    private AIResponseCache responseCache;
+
+    @Autowired
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Autowired
+    private DocumentAnalysisService documentAnalysisService;
+
+    @Autowired
+    private ChatSessionService chatSessionService;
+
+    @Autowired
+    private InterviewSessionService interviewSessionService;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // long generations that shouldn't hold up chat / interview turns, see LlmPriority
+    @Value("${llm.dispatch.batch-endpoints:generate-resume,generate-cover-letter,generate-linkedin-summary}")
+    private Set<String> batchEndpoints;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    private final RestTemplate restTemplate = new RestTemplate();
 
 
     @PostMapping("/generate-resume")
@@ -96,7 +139,7 @@ Experiences: %s
 """.formatted(name, email, phone, summary, skills, experiences);
 
         try {
-            String generatedText = callGeminiAPI(prompt);
+            String generatedText = callGeminiAPI("generate-resume", prompt);
 
             String cleanedJson = generatedText.trim();
 
@@ -116,13 +159,27 @@ Experiences: %s
 
             return ResponseEntity.ok(parsedJson);
 
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "AI generation failed: " + e.getMessage()));
         }
     }
 
+    // Server-side chat session: afterwards send {"sessionId", "message"} to /chat or /chat/stream, no history needed
+    @PostMapping("/chat/sessions")
+    public ResponseEntity<Map<String, Object>> createChatSession(Authentication authentication) {
+        return ResponseEntity.ok(Map.of("sessionId", chatSessionService.create(authentication.getName())));
+    }
+
+    @DeleteMapping("/chat/sessions/{sessionId}")
+    public ResponseEntity<Void> endChatSession(@PathVariable String sessionId, Authentication authentication) {
+        chatSessionService.end(sessionId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/chat")
-    public ResponseEntity<Map<String, Object>> chatWithAI(@RequestBody Map<String, Object> payload) {
+    public ResponseEntity<Map<String, Object>> chatWithAI(@RequestBody Map<String, Object> payload, Authentication authentication) {
         String userMessage = (String) payload.getOrDefault("message", "");
         List<Map<String, Object>> conversationHistory = (List<Map<String, Object>>) payload.get("history");
 
@@ -130,6 +187,81 @@ Experiences: %s
             return ResponseEntity.badRequest().body(Map.of("error", "Message is required"));
         }
 
+        ChatSessionService.ChatSession session = chatSession(payload, authentication);
+        String prompt = session != null
+                ? buildChatPrompt(userMessage, chatSessionService.context(session))
+                : buildChatPrompt(userMessage, conversationHistory);
+
+        try {
+            String aiResponse = callGeminiAPI("chat", prompt);
+
+            String cleanedResponse = aiResponse.trim();
+
+            if (cleanedResponse.startsWith("```")) {
+                int firstNewline = cleanedResponse.indexOf('\n');
+                int lastTripleBacktick = cleanedResponse.lastIndexOf("```");
+                if (firstNewline != -1 && lastTripleBacktick > firstNewline) {
+                    cleanedResponse = cleanedResponse.substring(firstNewline + 1, lastTripleBacktick).trim();
+                }
+            }
+
+            if (session != null) {
+                chatSessionService.addExchange(session, userMessage, cleanedResponse);
+            }
+            return ResponseEntity.ok(Map.of("reply", cleanedResponse));
+
+        } catch (ServiceBusyException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to get AI response: " + e.getMessage()));
+        }
+    }
+
+    /*
+     * Streaming variant of /chat: tokens are forwarded as SSE "message" events
+     * as Gemini produces them, followed by a single "done" event.
+     * The servlet thread is released while waiting for chunks. Goes through the
+     * router like every other call (limiter queue as INTERACTIVE, breaker, bulkhead).
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamChatWithAI(@RequestBody Map<String, Object> payload, Authentication authentication) {
+        String userMessage = (String) payload.getOrDefault("message", "");
+        List<Map<String, Object>> conversationHistory = (List<Map<String, Object>>) payload.get("history");
+
+        if (userMessage.isEmpty()) {
+            return Flux.just(ServerSentEvent.builder("Message is required").event("error").build());
+        }
+
+        ChatSessionService.ChatSession session = chatSession(payload, authentication);
+        String prompt = session != null
+                ? buildChatPrompt(userMessage, chatSessionService.context(session))
+                : buildChatPrompt(userMessage, conversationHistory);
+        MarkdownFenceStripper stripper = new MarkdownFenceStripper();
+        StringBuilder reply = new StringBuilder();
+
+        return llmRouter.stream("chat", prompt, LlmPriority.INTERACTIVE)
+                .map(stripper::accept)
+                .concatWith(Mono.fromSupplier(stripper::finish))
+                .filter(text -> !text.isEmpty())
+                .doOnNext(reply::append)
+                .doOnComplete(() -> {
+                    if (session != null) {
+                        chatSessionService.addExchange(session, userMessage, reply.toString().trim());
+                    }
+                })
+                .map(text -> ServerSentEvent.builder(text).event("message").build())
+                .concatWith(Mono.just(ServerSentEvent.builder("").event("done").build()))
+                .onErrorResume(e -> Mono.just(ServerSentEvent
+                        .builder("Failed to get AI response: " + e.getMessage()).event("error").build()));
+    }
+
+    // null when the request carries no sessionId (client-side history mode)
+    private ChatSessionService.ChatSession chatSession(Map<String, Object> payload, Authentication authentication) {
+        String sessionId = (String) payload.get("sessionId");
+        return sessionId == null ? null : chatSessionService.get(sessionId, authentication.getName());
+    }
+
+    private String buildChatPrompt(String userMessage, List<Map<String, Object>> conversationHistory) {
         // Build conversation context
         StringBuilder contextBuilder = new StringBuilder();
         if (conversationHistory != null && !conversationHistory.isEmpty()) {
@@ -141,8 +273,11 @@ Experiences: %s
             }
             contextBuilder.append("\n");
         }
+        return buildChatPrompt(userMessage, contextBuilder.toString());
+    }
 
-        String prompt = """
+    private String buildChatPrompt(String userMessage, String context) {
+        return """
 You are an expert AI Career Coach and Assistant. You help users with:
 - Career advice and guidance
 - Job search strategies  
@@ -165,26 +300,7 @@ IMPORTANT:
 Current user message: %s
 
 Provide a helpful, concise response with markdown formatting:
-""".formatted(contextBuilder.toString(), userMessage);
-
-        try {
-            String aiResponse = callGeminiAPI(prompt);
-
-            String cleanedResponse = aiResponse.trim();
-
-            if (cleanedResponse.startsWith("```")) {
-                int firstNewline = cleanedResponse.indexOf('\n');
-                int lastTripleBacktick = cleanedResponse.lastIndexOf("```");
-                if (firstNewline != -1 && lastTripleBacktick > firstNewline) {
-                    cleanedResponse = cleanedResponse.substring(firstNewline + 1, lastTripleBacktick).trim();
-                }
-            }
-
-            return ResponseEntity.ok(Map.of("reply", cleanedResponse));
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Failed to get AI response: " + e.getMessage()));
-        }
+""".formatted(context, userMessage);
     }
 
     @PostMapping("/upload-analyze")
@@ -194,48 +310,41 @@ Provide a helpful, concise response with markdown formatting:
                 return ResponseEntity.badRequest().body(Map.of("error", "No file uploaded"));
             }
 
-            String fileName = file.getOriginalFilename();
-            String fileType = file.getContentType();
-            String extractedText = "";
-
-            if (fileType != null && fileType.equals("application/pdf")) {
-                try (PDDocument document = PDDocument.load(file.getInputStream())) {
-                    PDFTextStripper pdfStripper = new PDFTextStripper();
-                    extractedText = pdfStripper.getText(document);
-                    if (extractedText.length() > 6000) {
-                        extractedText = extractedText.substring(0, 6000) + "...";
-                    }
-                } catch (Exception ex) {
-                    extractedText = "Unable to extract text from PDF. (" + ex.getMessage() + ")";
-                }
-            } else if (fileType != null && fileType.equals("text/plain")) {
-                extractedText = new String(file.getBytes());
-            } else {
-                extractedText = "File uploaded: " + fileName + " (" + fileType + ")";
+            DocumentTextExtractor.ExtractedDocument document;
+            try {
+                document = documentTextExtractor.extract(file);
+            } catch (PayloadTooLargeException e) {
+                return ResponseEntity.status(413).body(Map.of("error", e.getMessage()));
             }
 
-            String prompt = """
-You are an expert career coach. I've uploaded a document for analysis. Please review it and provide:
-
-1. **Document Type**: What type of document this appears to be (resume, cover letter, job posting, etc.)
-2. **Key Strengths**: What are the main strengths or positive aspects?
-3. **Areas for Improvement**: What could be enhanced or improved?
-4. **Specific Recommendations**: 3-5 actionable suggestions
-
-Document content:
-%s
-
-Provide your analysis in markdown format:
-""".formatted(extractedText);
-
-            String aiResponse = callGeminiAPI(prompt);
-            return ResponseEntity.ok(Map.of("reply", aiResponse.trim()));
+            return ResponseEntity.ok(Map.of("reply", documentAnalysisService.analyze(document)));
 
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to analyze document: " + e.getMessage()));
         }
     }
 
+    /*
+     * Many files in, one NDJSON line per file out, in completion order:
+     * {"index":0,"fileName":"a.pdf","status":"ok|cached|error","reply":"...","error":null,"tookMs":1234}
+     */
+    @PostMapping(value = "/upload-analyze/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<DocumentAnalysisResultDto>> uploadAndAnalyzeBatch(@RequestParam("files") List<MultipartFile> files,
+            Authentication authentication) {
+        List<MultipartFile> nonEmpty = files.stream().filter(f -> !f.isEmpty()).toList();
+        if (nonEmpty.isEmpty()) {
+            return ResponseEntity.badRequest().body(Flux.just(
+                    new DocumentAnalysisResultDto(-1, null, DocumentAnalysisResultDto.ERROR, null, "No file uploaded", 0)));
+        }
+        if (nonEmpty.size() > documentAnalysisService.getMaxBatchFiles()) {
+            return ResponseEntity.status(413).body(Flux.just(new DocumentAnalysisResultDto(-1, null, DocumentAnalysisResultDto.ERROR, null,
+                    "Too many files (max " + documentAnalysisService.getMaxBatchFiles() + ")", 0)));
+        }
+        return ResponseEntity.ok(documentAnalysisService.analyzeBatch(nonEmpty, authentication.getName()));
+    }
+
     @PostMapping("/generate-cover-letter")
     public ResponseEntity<Map<String, Object>> generateCoverLetter(@RequestBody Map<String, Object> payload) {
         String jobTitle = (String) payload.getOrDefault("jobTitle", "");
@@ -267,8 +376,10 @@ Generate a professional cover letter:
 """.formatted(jobTitle, company, jobDescription, personalInfo, resumeData);
 
         try {
-            String aiResponse = callGeminiAPI(prompt);
+            String aiResponse = callGeminiAPI("generate-cover-letter", prompt);
             return ResponseEntity.ok(Map.of("coverLetter", aiResponse.trim()));
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to generate cover letter: " + e.getMessage()));
         }
@@ -315,12 +426,50 @@ Format your response with clear sections.
         }
 
         try {
-            String aiResponse = callGeminiAPI(prompt);
+            String aiResponse = callGeminiAPI("mock-interview", prompt);
             return ResponseEntity.ok(Map.of("response", aiResponse.trim()));
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to process mock interview: " + e.getMessage()));
         }
     }
+
+    /*
+     * Stateful mock interview: the next question is prefetched while the candidate
+     * is answering, so /answer only waits for the grading.
+     */
+    @PostMapping("/mock-interview/sessions")
+    public ResponseEntity<Map<String, Object>> startInterviewSession(@RequestBody Map<String, Object> payload, Authentication authentication) {
+        String jobRole = (String) payload.getOrDefault("jobRole", "Software Engineer");
+        try {
+            return ResponseEntity.ok(interviewSessionService.start(authentication.getName(), jobRole));
+        } catch (ServiceBusyException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to process mock interview: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/mock-interview/sessions/{sessionId}/answer")
+    public ResponseEntity<Map<String, Object>> answerInterviewQuestion(@PathVariable String sessionId,
+            @RequestBody Map<String, Object> payload, Authentication authentication) {
+        String userAnswer = (String) payload.getOrDefault("answer", "");
+        try {
+            return ResponseEntity.ok(interviewSessionService.answer(sessionId, authentication.getName(), userAnswer));
+        } catch (ResourceNotFoundException | ConflictException | ServiceBusyException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to process mock interview: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/mock-interview/sessions/{sessionId}")
+    public ResponseEntity<Void> endInterviewSession(@PathVariable String sessionId, Authentication authentication) {
+        interviewSessionService.end(sessionId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/generate-linkedin-summary")
     public ResponseEntity<?> generateLinkedInSummary(@RequestBody Map<String, Object> payload) {
         try {
@@ -339,10 +488,12 @@ Format your response with clear sections.
                 Write the LinkedIn summary only.
                 """.formatted(name, summary, skills);
 
-            String generatedText = callGeminiAPI(prompt);
+            String generatedText = callGeminiAPI("generate-linkedin-summary", prompt);
             String cleanedText = cleanAIResponse(generatedText);
 
             return ResponseEntity.ok(Map.of("summary", cleanedText));
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to generate LinkedIn summary: " + e.getMessage()));
         }
@@ -369,14 +520,16 @@ Format your response with clear sections.
             }
         }
 
-        String prompt = String.format("Generate %d interview questions for a %s skilled in %s. Return a list of concise questions.", num, role, skills);
+        if (num < 1 || num > 50) {
+            return ResponseEntity.badRequest().body(Map.of("error", "num must be between 1 and 50"));
+        }
 
         try {
-            String response = callGeminiAPI(prompt);
-            System.out.println("Gemini API response for questions:\n" + response);
-
-            List<String> questions = List.of(response.split("\n"));
+            // served from the pre-generated bank, live Gemini call only for unseen role/skills
+            List<String> questions = questionBankService.questions(role, skills, num);
             return ResponseEntity.ok(Map.of("questions", questions));
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -393,52 +546,61 @@ Format your response with clear sections.
                 + "\nAnswer: " + answer;
 
         try {
-            String feedback = callGeminiAPI(prompt);
+            String feedback = callGeminiAPI("evaluate-answer", prompt);
             return ResponseEntity.ok(Map.of("feedback", feedback));
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
 
-    
-  
-    @SuppressWarnings("unchecked")
-    private String callGeminiAPI(String prompt) throws Exception {
-        String apiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + geminiApiKey;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Content-Type", "application/json");
-        headers.set("x-goog-api-key", geminiApiKey);
-
-        Map<String, Object> textPart = Map.of("text", prompt);
-        Map<String, Object> contentPart = Map.of("parts", new Object[] { textPart });
-        Map<String, Object> requestBody = Map.of("contents", new Object[] { contentPart });
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-        Map<String, Object> response = restTemplate.postForObject(apiUrl, request, Map.class);
-
-        if (response != null && response.containsKey("candidates")) {
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            for (Map<String, Object> candidate : candidates) {
-                Object contentObj = candidate.get("content");
-                if (contentObj instanceof Map) {
-                    Map<String, Object> contentMap = (Map<String, Object>) contentObj;
-                    Object partsObj = contentMap.get("parts");
-                    if (partsObj instanceof List) {
-                        for (Object partObj : (List<?>) partsObj) {
-                            if (partObj instanceof Map) {
-                                Object text = ((Map<?, ?>) partObj).get("text");
-                                if (text instanceof String) {
-                                    return (String) text;
-                                }
-                            }
-                        }
-                    }
+    /*
+     * Cache in front of Gemini, only for endpoints opted in via ai.cache.endpoints.
+     * Timer ai.requests{endpoint, outcome=success|cached|stale|busy|error},
+     * summaries ai.prompt.chars / ai.response.chars{endpoint}.
+     */
+    private String callGeminiAPI(String endpoint, String prompt) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        meterRegistry.summary("ai.prompt.chars", "endpoint", endpoint).record(prompt.length());
+        try {
+            boolean cacheable = responseCache.isEnabled(endpoint);
+            if (cacheable) {
+                String cached = responseCache.get(llmRouter.primaryModel(), prompt);
+                if (cached != null) {
+                    outcome = "cached";
+                    return cached;
+                }
+            }
+            LlmReply reply;
+            try {
+                reply = llmRouter.generateReply(endpoint, prompt, batchEndpoints.contains(endpoint) ? LlmPriority.BATCH : LlmPriority.INTERACTIVE);
+            } catch (ServiceBusyException e) {
+                // every provider is failing fast, an older answer beats an error
+                String stale = cacheable ? responseCache.getStale(llmRouter.primaryModel(), prompt) : null;
+                if (stale == null) {
+                    outcome = "busy";
+                    throw e;
                 }
+                outcome = "stale";
+                return stale;
             }
+            String generated = reply.text();
+            // lookups are by the primary's model, so a hedged answer would be filed under the wrong one
+            if (cacheable && !reply.hedged()) {
+                responseCache.put(reply.model(), prompt, generated);
+            }
+            if (generated != null) {
+                meterRegistry.summary("ai.response.chars", "endpoint", endpoint).record(generated.length());
+            }
+            outcome = "success";
+            return generated;
+        } finally {
+            sample.stop(meterRegistry.timer("ai.requests", "endpoint", endpoint, "outcome", outcome));
         }
-        throw new Exception("No content generated from Gemini API");
     }
+
     private String cleanAIResponse(String text) {
         String cleaned = text.trim();
         if (cleaned.startsWith("```")){
@@ -6,10 +6,10 @@ import com.aicareercoach.dto.UserRegistrationRequest;
 import com.aicareercoach.model.User;
 import com.aicareercoach.repository.UserRepository;
 import com.aicareercoach.service.JwtService;
+import com.aicareercoach.service.PasswordHashingService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.BindingResult;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
@@ -24,8 +24,9 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    // BCrypt runs on a bounded pool, see PasswordHashingService
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtService jwtService;
@@ -46,7 +47,7 @@ public class AuthController {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
 
         userRepository.save(user);
 
@@ -69,10 +70,12 @@ public class AuthController {
             return ResponseEntity.status(401).body("Invalid email or password.");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             return ResponseEntity.status(401).body("Invalid email or password.");
         }
 
+        passwordHashingService.rehashIfNeeded(user, request.getPassword());
+
         String token = jwtService.generateToken(user);
 
         return ResponseEntity.ok(Collections.singletonMap("token", token));
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication; // Correct import here
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,14 +17,17 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.aicareercoach.dto.AdviceHistoryDto;
+import com.aicareercoach.dto.AdviceHistoryPageDto;
 import com.aicareercoach.dto.JobDto;
+import com.aicareercoach.dto.JobSearchResultDto;
 import com.aicareercoach.dto.UserProfileRequest;
-import com.aicareercoach.model.AdviceHistory;
 import com.aicareercoach.model.User;
-import com.aicareercoach.repository.AdviceHistoryRepository;
+import com.aicareercoach.service.AdviceHistoryService;
 import com.aicareercoach.service.CareerService;
 import com.aicareercoach.service.JobService;
 
+import reactor.core.publisher.Mono;
+
 @RestController
 @RequestMapping("/api/careers")
 @CrossOrigin(origins = "http://localhost:5173")
@@ -33,45 +37,44 @@ public class CareerCoachController {
     private CareerService careerService;
 
     @Autowired
-    private AdviceHistoryRepository adviceHistoryRepository;
+    private AdviceHistoryService adviceHistoryService;
 
     @Autowired
     private JobService jobService;  // Inject the JobService bean here
     
     
 
+    // Async: the Tomcat worker is released while waiting on Groq, history is saved in the background
     @PostMapping("/advice")
-    public ResponseEntity<Map<String, String>> getCareerAdvice(@RequestBody UserProfileRequest profileRequest, Authentication authentication) {
+    public Mono<ResponseEntity<Map<String, String>>> getCareerAdvice(@RequestBody UserProfileRequest profileRequest, Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        String advice = careerService.generateAdvice(profileRequest);
-
-        AdviceHistory history = new AdviceHistory();
-        history.setUser(currentUser);
-        history.setSkills(profileRequest.getSkills());
-        history.setInterests(profileRequest.getInterests());
-        history.setResponse(advice);
-        adviceHistoryRepository.save(history);
 
-        // Wrap the advice string in a Map and return
-        return ResponseEntity.ok(Map.of("advice", advice));
+        return careerService.generateAdviceAsync(profileRequest)
+            // failures propagate as 503 and never reach the history
+            .doOnNext(advice -> adviceHistoryService.record(currentUser, profileRequest, advice))
+            // Wrap the advice string in a Map and return
+            .map(advice -> ResponseEntity.ok(Map.of("advice", advice)));
     }
 
+    // Newest first, keyset paged; items carry a short preview, fetch /history/{id} for the full advice
     @GetMapping("/history")
-    public ResponseEntity<List<AdviceHistoryDto>> getAdviceHistory(Authentication authentication) {
+    public ResponseEntity<?> getAdviceHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        try {
+            AdviceHistoryPageDto page = adviceHistoryService.listSummaries(currentUser, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/history/{id}")
+    public ResponseEntity<AdviceHistoryDto> getAdviceHistoryEntry(@PathVariable Long id, Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        List<AdviceHistory> historyList = adviceHistoryRepository.findByUser(currentUser);
-
-        List<AdviceHistoryDto> dtoList = historyList.stream().map(h ->
-            new AdviceHistoryDto(
-                h.getId(),
-                h.getSkills(),
-                h.getInterests(),
-                h.getResponse(),
-                h.getCreatedAt()
-            )
-        ).toList();
-
-        return ResponseEntity.ok(dtoList);
+        return ResponseEntity.ok(adviceHistoryService.getDetail(currentUser, id));
     }
 
     @GetMapping("/jobs/recommend")
@@ -86,6 +89,15 @@ public class CareerCoachController {
         return ResponseEntity.ok(jobs);
     }
     
+    // Fans out to every JobSource at once, late or failing sources are flagged in "sources"
+    @GetMapping("/jobs/search")
+    public Mono<ResponseEntity<JobSearchResultDto>> searchJobs(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "India") String location) {
+        return jobService.searchAllSources(query, location)
+            .map(ResponseEntity::ok);
+    }
+
     @GetMapping("/jobs/remotive")
     public ResponseEntity<?> getRemotiveJobs(@RequestParam(defaultValue = "") String search) {
         try {
@@ -0,0 +1,32 @@
+package com.aicareercoach.dto;
+
+import java.util.List;
+
+// One page of advice history, pass nextCursor back as ?cursor= to get the next page (null = last page)
+public class AdviceHistoryPageDto {
+    private List<AdviceHistorySummaryDto> items;
+    private String nextCursor;
+
+    public AdviceHistoryPageDto() {}
+
+    public AdviceHistoryPageDto(List<AdviceHistorySummaryDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<AdviceHistorySummaryDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AdviceHistorySummaryDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,73 @@
+package com.aicareercoach.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+// List view of an advice entry: no full response, only a short preview
+public class AdviceHistorySummaryDto {
+    public static final int PREVIEW_LENGTH = 200;
+
+    private Long id;
+    private String skills;
+    private String interests;
+    private String preview;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    public AdviceHistorySummaryDto() {}
+
+    // used by the JPQL constructor expression, responseHead is at most PREVIEW_LENGTH + 1 chars
+    public AdviceHistorySummaryDto(Long id, String skills, String interests, String responseHead, LocalDateTime createdAt) {
+        this.id = id;
+        this.skills = skills;
+        this.interests = interests;
+        if (responseHead != null && responseHead.length() > PREVIEW_LENGTH) {
+            this.preview = responseHead.substring(0, PREVIEW_LENGTH) + "...";
+        } else {
+            this.preview = responseHead;
+        }
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSkills() {
+        return skills;
+    }
+
+    public void setSkills(String skills) {
+        this.skills = skills;
+    }
+
+    public String getInterests() {
+        return interests;
+    }
+
+    public void setInterests(String interests) {
+        this.interests = interests;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,75 @@
+package com.aicareercoach.dto;
+
+// One line of the /upload-analyze/batch NDJSON stream
+public class DocumentAnalysisResultDto {
+
+    public static final String OK = "ok";
+    public static final String CACHED = "cached";
+    public static final String ERROR = "error";
+
+    private int index;
+    private String fileName;
+    private String status;
+    private String reply;
+    private String error;
+    private long tookMs;
+
+    public DocumentAnalysisResultDto() {}
+
+    public DocumentAnalysisResultDto(int index, String fileName, String status, String reply, String error, long tookMs) {
+        this.index = index;
+        this.fileName = fileName;
+        this.status = status;
+        this.reply = reply;
+        this.error = error;
+        this.tookMs = tookMs;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getReply() {
+        return reply;
+    }
+
+    public void setReply(String reply) {
+        this.reply = reply;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getTookMs() {
+        return tookMs;
+    }
+
+    public void setTookMs(long tookMs) {
+        this.tookMs = tookMs;
+    }
+}
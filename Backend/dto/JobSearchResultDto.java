@@ -0,0 +1,99 @@
+package com.aicareercoach.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Result of a federated job search: merged jobs plus what happened at each source
+public class JobSearchResultDto {
+
+    private List<JobDto> jobs;
+    private Map<String, SourceStatus> sources = new LinkedHashMap<>();
+    private boolean partial;
+
+    public JobSearchResultDto() {}
+
+    public JobSearchResultDto(List<JobDto> jobs, Map<String, SourceStatus> sources) {
+        this.jobs = jobs;
+        this.sources = sources;
+        this.partial = sources.values().stream().anyMatch(s -> !SourceStatus.OK.equals(s.getStatus()));
+    }
+
+    public List<JobDto> getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(List<JobDto> jobs) {
+        this.jobs = jobs;
+    }
+
+    public Map<String, SourceStatus> getSources() {
+        return sources;
+    }
+
+    public void setSources(Map<String, SourceStatus> sources) {
+        this.sources = sources;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    public static class SourceStatus {
+        public static final String OK = "ok";
+        public static final String TIMEOUT = "timeout";
+        public static final String ERROR = "error";
+        // source failed, jobs are its last good result for the same query
+        public static final String STALE = "stale";
+
+        private String status;
+        private int count;
+        private long tookMs;
+        private String error;
+
+        public SourceStatus() {}
+
+        public SourceStatus(String status, int count, long tookMs, String error) {
+            this.status = status;
+            this.count = count;
+            this.tookMs = tookMs;
+            this.error = error;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public long getTookMs() {
+            return tookMs;
+        }
+
+        public void setTookMs(long tookMs) {
+            this.tookMs = tookMs;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
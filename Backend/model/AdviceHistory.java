@@ -9,11 +9,15 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+// history is always listed per user, newest first (keyset pagination)
+@Table(name = "advice_history", indexes = @Index(name = "idx_advice_history_user_created", columnList = "user_id, created_at"))
 public class AdviceHistory {
 
     @Id
@@ -7,17 +7,23 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.aicareercoach.security.UserCacheInvalidationListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(UserCacheInvalidationListener.class)
 @Getter @Setter @NoArgsConstructor
 public class User implements UserDetails {
     
@@ -33,6 +39,11 @@ public class User implements UserDetails {
     
     private String name;
 
+    // email as loaded from the database, so a changed email still evicts the old cache key
+    @Transient
+    @JsonIgnore
+    private String loadedEmail;
+
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -1,14 +1,35 @@
 package com.aicareercoach.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.aicareercoach.dto.AdviceHistorySummaryDto;
 import com.aicareercoach.model.AdviceHistory;
 import com.aicareercoach.model.User;
 
 public interface AdviceHistoryRepository extends JpaRepository<AdviceHistory, Long> {
     List<AdviceHistory> findByUser(User user);
+
+    Optional<AdviceHistory> findByIdAndUser(Long id, User user);
+
+    // Keyset pages, newest first, served by idx_advice_history_user_created. Never loads the response LOB.
+    @Query("select new com.aicareercoach.dto.AdviceHistorySummaryDto(h.id, h.skills, h.interests, substring(h.response, 1, :headLength), h.createdAt) "
+            + "from AdviceHistory h where h.user = :user "
+            + "order by h.createdAt desc, h.id desc")
+    List<AdviceHistorySummaryDto> findSummaries(@Param("user") User user, @Param("headLength") int headLength, Limit limit);
+
+    @Query("select new com.aicareercoach.dto.AdviceHistorySummaryDto(h.id, h.skills, h.interests, substring(h.response, 1, :headLength), h.createdAt) "
+            + "from AdviceHistory h where h.user = :user "
+            + "and (h.createdAt < :createdAt or (h.createdAt = :createdAt and h.id < :id)) "
+            + "order by h.createdAt desc, h.id desc")
+    List<AdviceHistorySummaryDto> findSummariesBefore(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, @Param("headLength") int headLength, Limit limit);
 }
 
 
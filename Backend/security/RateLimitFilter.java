@@ -0,0 +1,101 @@
+package com.aicareercoach.security;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Throttles the endpoints that spend LLM budget, per authenticated user (JWT subject)
+ * and, if ratelimit.ip.enabled=true, per client IP. Runs after JwtAuthenticationFilter
+ * so the user is known.
+ *
+ * The IP scope is off by default: behind a proxy or load balancer getRemoteAddr() is the
+ * proxy, so every client would share one bucket. Only turn it on when the app sees
+ * client addresses, either directly or with server.forward-headers-strategy=native
+ * (or framework) so X-Forwarded-For from a trusted proxy is applied to the request.
+ *
+ * Families: "ai" = /api/ai/**, "advice" = POST /api/careers/advice.
+ * Over the limit: 429 with Retry-After. Limits: see TokenBucketRateLimiter.
+ *
+ * Counter ratelimit.requests{family, result=allowed|rejected_ip|rejected_user}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final boolean ipEnabled;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, MeterRegistry meterRegistry,
+            @Value("${ratelimit.ip.enabled:false}") boolean ipEnabled) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.ipEnabled = ipEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+
+        String family = family(request);
+        if (family == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // IP first: an unauthenticated flood shouldn't get as far as the user buckets
+        long retryAfter;
+        if (ipEnabled) {
+            retryAfter = rateLimiter.tryConsume(family, "ip", request.getRemoteAddr());
+            if (retryAfter > 0) {
+                reject(response, family, "rejected_ip", retryAfter);
+                return;
+            }
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            retryAfter = rateLimiter.tryConsume(family, "user", authentication.getName());
+            if (retryAfter > 0) {
+                reject(response, family, "rejected_user", retryAfter);
+                return;
+            }
+        }
+        meterRegistry.counter("ratelimit.requests", "family", family, "result", "allowed").increment();
+        chain.doFilter(request, response);
+    }
+
+    private static String family(HttpServletRequest request) {
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/ai/")) {
+            return "ai";
+        }
+        if ("POST".equalsIgnoreCase(request.getMethod()) && path.equals("/api/careers/advice")) {
+            return "advice";
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, String family, String result, long retryAfterSeconds) throws IOException {
+        meterRegistry.counter("ratelimit.requests", "family", family, "result", result).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, please retry in " + retryAfterSeconds + " seconds.\"}");
+    }
+}
@@ -0,0 +1,173 @@
+package com.aicareercoach.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Token buckets keyed by "<family>|user|<email>" or "<family>|ip|<address>".
+ *
+ * Each bucket is a single AtomicReference updated with compareAndSet, and buckets
+ * live in a ConcurrentHashMap, so there is no lock on the request path. Tokens are
+ * refilled lazily from the elapsed time on each call.
+ *
+ * Limits per family and scope:
+ *   ratelimit.<family>.<user|ip>.capacity           burst size
+ *   ratelimit.<family>.<user|ip>.refill-per-minute  sustained rate
+ * falling back to ratelimit.default.<user|ip>.*. Both are clamped to at least 1.
+ * Buckets that are full and idle for ratelimit.idle-eviction-ms are dropped.
+ *
+ * stats() never shows the email or address: ids are replaced by a salted hash that
+ * stays the same while the process runs, so a hot client can still be followed.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Limit> limits = new ConcurrentHashMap<>();
+    private final byte[] statsSalt = new byte[16];
+
+    private final Environment environment;
+    private final long idleEvictionNanos;
+
+    public TokenBucketRateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        new SecureRandom().nextBytes(statsSalt);
+        this.idleEvictionNanos = environment.getProperty("ratelimit.idle-eviction-ms", Long.class, 600_000L) * 1_000_000;
+        Gauge.builder("ratelimit.buckets", buckets, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /*
+     * Takes one token. Returns 0 when allowed, otherwise the number of seconds until
+     * a token will be available (for Retry-After).
+     */
+    public long tryConsume(String family, String scope, String id) {
+        Limit limit = limit(family, scope);
+        Bucket bucket = buckets.computeIfAbsent(family + "|" + scope + "|" + id, k -> new Bucket(limit));
+        return bucket.tryConsume(System.nanoTime());
+    }
+
+    public Map<String, Object> stats(int top) {
+        long now = System.nanoTime();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buckets", buckets.size());
+
+        Map<String, Object> configured = new LinkedHashMap<>();
+        limits.forEach((key, limit) -> configured.put(key, Map.of(
+                "capacity", limit.capacity(),
+                "refillPerMinute", limit.refillPerNano() * 60_000_000_000d)));
+        stats.put("limits", configured);
+
+        // the most depleted buckets are the interesting ones
+        List<Map.Entry<String, Double>> levels = new ArrayList<>();
+        buckets.forEach((key, bucket) -> levels.add(Map.entry(key, bucket.tokens(now))));
+        levels.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        Map<String, Object> lowest = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> level : levels.subList(0, Math.min(top, levels.size()))) {
+            lowest.put(redact(level.getKey()), Math.floor(level.getValue() * 10) / 10);
+        }
+        stats.put("lowestBuckets", lowest);
+        return stats;
+    }
+
+    // "ai|user|alice@example.com" -> "ai|user|3f9a0c1b22de"
+    private String redact(String key) {
+        String[] parts = key.split("\\|", 3);
+        if (parts.length < 3) {
+            return key;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(statsSalt);
+            byte[] hash = digest.digest(parts[2].getBytes(StandardCharsets.UTF_8));
+            return parts[0] + "|" + parts[1] + "|" + HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.cleanup-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleEvictionNanos));
+    }
+
+    private Limit limit(String family, String scope) {
+        return limits.computeIfAbsent(family + "|" + scope, key -> {
+            int defaultCapacity = "ip".equals(scope) ? 60 : 20;
+            int capacity = setting(family, scope, "capacity", defaultCapacity);
+            int perMinute = setting(family, scope, "refill-per-minute", defaultCapacity);
+            // a bucket that never refills would reject forever (and Retry-After would be infinite)
+            if (capacity < 1 || perMinute < 1) {
+                System.out.println("❗ Rate limit " + key + " must be at least 1 (capacity=" + capacity
+                        + ", refill-per-minute=" + perMinute + "), using 1");
+            }
+            return new Limit(Math.max(1, capacity), Math.max(1, perMinute) / 60_000_000_000d);
+        });
+    }
+
+    private int setting(String family, String scope, String key, int defaultValue) {
+        int fallback = environment.getProperty("ratelimit.default." + scope + "." + key, Integer.class, defaultValue);
+        return environment.getProperty("ratelimit." + family + "." + scope + "." + key, Integer.class, fallback);
+    }
+
+    private record Limit(int capacity, double refillPerNano) {
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+
+    private static class Bucket {
+        private final Limit limit;
+        private final AtomicReference<State> state;
+
+        Bucket(Limit limit) {
+            this.limit = limit;
+            this.state = new AtomicReference<>(new State(limit.capacity(), System.nanoTime()));
+        }
+
+        long tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refilled(current, now);
+                if (tokens < 1) {
+                    double nanosUntilToken = (1 - tokens) / limit.refillPerNano();
+                    return Math.max(1, (long) Math.ceil(nanosUntilToken / 1_000_000_000d));
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        double tokens(long now) {
+            return refilled(state.get(), now);
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            State current = state.get();
+            return now - current.updatedAt() > idleNanos && refilled(current, now) >= limit.capacity();
+        }
+
+        private double refilled(State current, long now) {
+            long elapsed = Math.max(0, now - current.updatedAt());
+            return Math.min(limit.capacity(), current.tokens() + elapsed * limit.refillPerNano());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.aicareercoach.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.aicareercoach.model.User;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on User: any password/profile update or delete evicts the cached principal
+@Component
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    @Lazy
+    private UserPrincipalCache userPrincipalCache;
+
+    @PostLoad
+    @PostPersist
+    public void remember(User user) {
+        user.setLoadedEmail(user.getEmail());
+    }
+
+    // on an email change both the old and the new key go
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        if (user.getLoadedEmail() != null && !user.getLoadedEmail().equals(user.getEmail())) {
+            userPrincipalCache.invalidate(user.getLoadedEmail());
+        }
+        userPrincipalCache.invalidate(user.getEmail());
+        user.setLoadedEmail(user.getEmail());
+    }
+}
@@ -0,0 +1,94 @@
+package com.aicareercoach.security;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.aicareercoach.model.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Short-lived cache of authenticated users by email, so JwtAuthenticationFilter
+ * doesn't hit MySQL on every request.
+ * Entries expire after auth.principal-cache.ttl-seconds and are dropped right away
+ * when the User row changes (see UserCacheInvalidationListener).
+ *
+ * Metrics: auth.principal.cache.requests{result=hit|miss}, auth.principal.cache.size,
+ * auth.principal.cache.hit.ratio
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserPrincipalCache(
+            @Value("${auth.principal-cache.max-entries:10000}") int maxEntries,
+            @Value("${auth.principal-cache.ttl-seconds:60}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.hits = meterRegistry.counter("auth.principal.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("auth.principal.cache.requests", "result", "miss");
+        Gauge.builder("auth.principal.cache.size", entries, ConcurrentHashMap::size).register(meterRegistry);
+        Gauge.builder("auth.principal.cache.hit.ratio", this, UserPrincipalCache::hitRatio).register(meterRegistry);
+    }
+
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        if (maxEntries <= 0) {
+            return loader.apply(email);
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return Optional.of(entry.user());
+        }
+        misses.increment();
+        Optional<User> user = loader.apply(email);
+        user.ifPresent(u -> put(email, u, now));
+        return user;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            entries.remove(email);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void put(String email, User user, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            // still full: drop arbitrary entries, they are cheap to reload
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        entries.put(email, new Entry(user, now + ttlMillis));
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.aicareercoach.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Size and TTL bounded LRU cache for LLM completions.
+ * Entries are keyed by SHA-256(model + normalized prompt), so the same prompt
+ * sent with different whitespace still hits.
+ */
+@Component
+public class AIResponseCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Set<String> enabledEndpoints;
+    private final boolean serveStale;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public AIResponseCache(
+            @Value("${ai.cache.max-entries:500}") int maxEntries,
+            @Value("${ai.cache.ttl-seconds:600}") long ttlSeconds,
+            // chat and evaluate-answer are off by default, add them here to opt in
+            @Value("${ai.cache.endpoints:generate-resume,generate-linkedin-summary,mock-interview}") String[] endpoints,
+            @Value("${ai.cache.serve-stale-on-error:true}") boolean serveStale) {
+        this.maxEntries = maxEntries;
+        this.serveStale = serveStale;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.enabledEndpoints = Set.of(endpoints);
+        // access-order = true gives us LRU iteration order
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AIResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled(String endpoint) {
+        return maxEntries > 0 && enabledEndpoints.contains(endpoint);
+    }
+
+    public String get(String model, String prompt) {
+        String key = key(model, prompt);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                // with serve-stale on, expired entries stay until LRU eviction as a fallback
+                if (!serveStale) {
+                    entries.remove(key);
+                }
+                expirations.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.value();
+        }
+    }
+
+    // any entry, expired or not; used when the upstream is down (ai.cache.serve-stale-on-error)
+    public String getStale(String model, String prompt) {
+        if (!serveStale) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(key(model, prompt));
+            if (entry != null) {
+                staleHits.incrementAndGet();
+            }
+            return entry == null ? null : entry.value();
+        }
+    }
+
+    public void put(String model, String prompt, String value) {
+        if (value == null) {
+            return;
+        }
+        String key = key(model, prompt);
+        synchronized (entries) {
+            entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public int clear() {
+        synchronized (entries) {
+            int size = entries.size();
+            entries.clear();
+            return size;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("endpoints", enabledEndpoints);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("staleHits", staleHits.get());
+        return stats;
+    }
+
+    static String normalize(String prompt) {
+        return prompt == null ? "" : prompt.strip().replaceAll("\\s+", " ");
+    }
+
+    static String key(String model, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(prompt).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
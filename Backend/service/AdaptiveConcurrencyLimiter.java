@@ -0,0 +1,396 @@
+package com.aicareercoach.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.aicareercoach.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/*
+ * Adaptive (AIMD) in-flight limit per LLM provider, so we run as close to the
+ * provider's rate limit as we can without tripping it.
+ *
+ *  - success: limit += 1/limit (about +1 per round trip) while the limit is actually used
+ *  - 429 / 503, or recent latency above llm.limiter.latency-tolerance x the long-run
+ *    average: limit *= backoff-ratio (at most once per cooldown-ms)
+ *  - Retry-After from the provider pauses the whole provider until then
+ *  - calls over the limit wait in an LlmDispatchQueue (weighted by LlmPriority class,
+ *    round robin across users) for up to queue-timeout-ms, then fail with
+ *    ServiceBusyException
+ *  - 429 / 5xx / connection errors are retried (generation is idempotent) up to
+ *    llm.retry.max-attempts with full-jitter exponential backoff, never sooner than
+ *    the provider's Retry-After. A Retry-After longer than max-delay-ms isn't waited
+ *    out; that, and a 429 / 503 still failing on the last attempt, end in
+ *    ServiceBusyException (503 + Retry-After) rather than the provider's error
+ *
+ * Settings are llm.limiter.<provider>.*, falling back to llm.limiter.*. The limit never
+ * goes above the provider's DependencyGuard bulkhead, whose overflow would only fail
+ * fast with ServiceBusyException instead of waiting here.
+ * Metrics: llm.limiter.limit / in.flight {provider}, llm.limiter.queue.size and
+ * llm.dispatch.queue.time {provider, class}, llm.limiter.rejected / llm.retries {provider}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrentHashMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final DependencyGuard dependencyGuard;
+
+    public AdaptiveConcurrencyLimiter(Environment environment, MeterRegistry meterRegistry, DependencyGuard dependencyGuard) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.dependencyGuard = dependencyGuard;
+    }
+
+    public <T> Mono<T> run(String provider, LlmPriority priority, String user, Supplier<Mono<T>> call) {
+        Limiter limiter = limiter(provider);
+        Mono<T> attempt = Mono.defer(() -> limiter.acquire(priority, user)
+                .flatMap(start -> call.get()
+                        .doOnSuccess(result -> limiter.onSuccess((System.nanoTime() - start) / 1_000_000))
+                        .doOnError(limiter::onError)
+                        .doFinally(signal -> limiter.release())));
+
+        int maxAttempts = setting(provider, "max-attempts", Integer.class, 3, "llm.retry.");
+        long baseDelayMs = setting(provider, "base-delay-ms", Long.class, 250L, "llm.retry.");
+        long maxDelayMs = setting(provider, "max-delay-ms", Long.class, 5000L, "llm.retry.");
+        return attempt.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retryAfterMs = retryAfterMs(failure);
+            // the caller's thread is blocked on this, don't sleep for however long the provider asks
+            if (signal.totalRetries() + 1 >= maxAttempts || !isRetryable(failure) || retryAfterMs > maxDelayMs) {
+                return Mono.error(giveUp(provider, limiter, failure, retryAfterMs));
+            }
+            meterRegistry.counter("llm.retries", "provider", provider).increment();
+            long backoff = Math.min(maxDelayMs, baseDelayMs << Math.min(signal.totalRetries(), 16));
+            long delay = Math.max(ThreadLocalRandom.current().nextLong(backoff + 1), retryAfterMs);
+            return Mono.delay(Duration.ofMillis(delay));
+        })));
+    }
+
+    // provider overload becomes ServiceBusyException so clients get 503 + Retry-After, other errors pass through
+    private static Throwable giveUp(String provider, Limiter limiter, Throwable failure, long retryAfterMs) {
+        if (!isOverload(failure)) {
+            return failure;
+        }
+        long retryAfterSeconds = retryAfterMs > 0 ? (retryAfterMs + 999) / 1000 : limiter.retryAfterSeconds();
+        ServiceBusyException busy = new ServiceBusyException(provider + " is overloaded, please retry shortly", retryAfterSeconds);
+        busy.initCause(failure);
+        return busy;
+    }
+
+    /*
+     * Streaming call: waits for a slot like run(), holds it until the stream ends.
+     * Not retried, part of the answer may already be with the client. Time to the
+     * first chunk stands in for latency.
+     */
+    public <T> Flux<T> stream(String provider, LlmPriority priority, String user, Supplier<Flux<T>> call) {
+        Limiter limiter = limiter(provider);
+        return Flux.defer(() -> limiter.acquire(priority, user)
+                .flatMapMany(start -> {
+                    AtomicBoolean first = new AtomicBoolean(true);
+                    return call.get()
+                            .doOnNext(chunk -> {
+                                if (first.compareAndSet(true, false)) {
+                                    limiter.onSuccess((System.nanoTime() - start) / 1_000_000);
+                                }
+                            })
+                            .doOnError(limiter::onError)
+                            .doFinally(signal -> limiter.release());
+                }));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        limiters.forEach((name, limiter) -> stats.put(name, limiter.stats()));
+        return stats;
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof WebClientRequestException || e instanceof IOException || e instanceof TimeoutException;
+    }
+
+    private static boolean isOverload(Throwable e) {
+        return e instanceof WebClientResponseException response
+                && (response.getStatusCode().value() == 429 || response.getStatusCode().value() == 503);
+    }
+
+    // Retry-After as seconds or an HTTP date, 0 if absent
+    static long retryAfterMs(Throwable e) {
+        if (!(e instanceof WebClientResponseException response)) {
+            return 0;
+        }
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.strip()) * 1000);
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.strip(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (Exception notDate) {
+                return 0;
+            }
+        }
+    }
+
+    private Limiter limiter(String provider) {
+        return limiters.computeIfAbsent(provider, name -> {
+            Map<LlmPriority, Integer> weights = new EnumMap<>(LlmPriority.class);
+            weights.put(LlmPriority.INTERACTIVE, environment.getProperty("llm.dispatch.weights.interactive", Integer.class, 8));
+            weights.put(LlmPriority.BATCH, environment.getProperty("llm.dispatch.weights.batch", Integer.class, 1));
+            int maxLimit = Math.min(setting(name, "max-limit", Integer.class, 100, "llm.limiter."),
+                    dependencyGuard.maxConcurrent(name));
+            Limiter limiter = new Limiter(name, weights,
+                    Math.min(setting(name, "initial-limit", Integer.class, 10, "llm.limiter."), maxLimit),
+                    setting(name, "min-limit", Integer.class, 1, "llm.limiter."),
+                    maxLimit,
+                    setting(name, "backoff-ratio", Double.class, 0.7, "llm.limiter."),
+                    setting(name, "latency-tolerance", Double.class, 2.0, "llm.limiter."),
+                    setting(name, "cooldown-ms", Long.class, 1000L, "llm.limiter."),
+                    setting(name, "queue-timeout-ms", Long.class, 10000L, "llm.limiter."),
+                    setting(name, "max-queue", Integer.class, 500, "llm.limiter."));
+            Gauge.builder("llm.limiter.limit", limiter, Limiter::limit).tag("provider", name).register(meterRegistry);
+            Gauge.builder("llm.limiter.in.flight", limiter, Limiter::inFlight).tag("provider", name).register(meterRegistry);
+            for (LlmPriority priority : LlmPriority.values()) {
+                String tag = priority.name().toLowerCase();
+                Gauge.builder("llm.limiter.queue.size", limiter, l -> l.queueSize(priority))
+                        .tag("provider", name).tag("class", tag).register(meterRegistry);
+                limiter.queueTimers.put(priority, Timer.builder("llm.dispatch.queue.time")
+                        .tag("provider", name).tag("class", tag)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+            }
+            return limiter;
+        });
+    }
+
+    private <T> T setting(String provider, String key, Class<T> type, T defaultValue, String prefix) {
+        T fallback = environment.getProperty(prefix + key, type, defaultValue);
+        return environment.getProperty(prefix + provider + "." + key, type, fallback);
+    }
+
+    private class Limiter {
+        private final String name;
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double latencyTolerance;
+        private final long cooldownMs;
+        private final long queueTimeoutMs;
+        private final int maxQueue;
+
+        private final LlmDispatchQueue<Waiter> waiting;
+        private final Map<LlmPriority, Timer> queueTimers = new EnumMap<>(LlmPriority.class);
+        private double limit;
+        private int inFlight;
+        private long blockedUntil;
+        private long lastDecrease;
+        private double shortLatency = -1;
+        private double longLatency = -1;
+
+        Limiter(String name, Map<LlmPriority, Integer> weights, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                double latencyTolerance, long cooldownMs, long queueTimeoutMs, int maxQueue) {
+            this.name = name;
+            this.waiting = new LlmDispatchQueue<>(weights);
+            this.limit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.backoffRatio = backoffRatio;
+            this.latencyTolerance = latencyTolerance;
+            this.cooldownMs = cooldownMs;
+            this.queueTimeoutMs = queueTimeoutMs;
+            this.maxQueue = maxQueue;
+        }
+
+        // emits the start time (nanos) once a slot is free
+        Mono<Long> acquire(LlmPriority priority, String user) {
+            Mono<Long> acquire = Mono.create((MonoSink<Long> sink) -> {
+                Waiter waiter = new Waiter(sink, priority, user);
+                synchronized (this) {
+                    if (waiting.isEmpty() && canStart()) {
+                        inFlight++;
+                        waiter.state.set(Waiter.GRANTED);
+                    } else if (waiting.size() >= maxQueue) {
+                        waiter.state.set(Waiter.CANCELLED);
+                    } else {
+                        waiting.add(priority, user, waiter);
+                    }
+                }
+                switch (waiter.state.get()) {
+                    case Waiter.GRANTED -> {
+                        queueTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                        sink.success(System.nanoTime());
+                    }
+                    case Waiter.CANCELLED -> reject(sink);
+                    default -> sink.onCancel(() -> cancel(waiter));
+                }
+            });
+            return acquire.timeout(Duration.ofMillis(queueTimeoutMs), Mono.defer(() -> {
+                meterRegistry.counter("llm.limiter.rejected", "provider", name).increment();
+                return Mono.error(new ServiceBusyException(name + " is busy, please retry shortly", retryAfterSeconds()));
+            }));
+        }
+
+        private void reject(MonoSink<Long> sink) {
+            meterRegistry.counter("llm.limiter.rejected", "provider", name).increment();
+            sink.error(new ServiceBusyException(name + " is busy, please retry shortly", retryAfterSeconds()));
+        }
+
+        private void cancel(Waiter waiter) {
+            if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                synchronized (this) {
+                    waiting.remove(waiter.priority, waiter.user, waiter);
+                }
+            } else if (waiter.state.get() == Waiter.GRANTED) {
+                // granted while being cancelled, nobody will run the call
+                release();
+            }
+        }
+
+        void release() {
+            synchronized (this) {
+                inFlight--;
+            }
+            drain();
+        }
+
+        private void drain() {
+            while (true) {
+                Waiter next;
+                synchronized (this) {
+                    if (waiting.isEmpty() || !canStart()) {
+                        return;
+                    }
+                    next = waiting.poll();
+                    if (!next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                        continue;
+                    }
+                    inFlight++;
+                }
+                long now = System.nanoTime();
+                queueTimers.get(next.priority).record(now - next.enqueuedAt, TimeUnit.NANOSECONDS);
+                next.sink.success(now);
+            }
+        }
+
+        private boolean canStart() {
+            return inFlight < (int) limit && System.currentTimeMillis() >= blockedUntil;
+        }
+
+        synchronized void onSuccess(long latencyMs) {
+            // short EWMA reacts within a few calls, long EWMA is the healthy baseline
+            shortLatency = shortLatency < 0 ? latencyMs : shortLatency * 0.9 + latencyMs * 0.1;
+            longLatency = longLatency < 0 ? latencyMs : longLatency * 0.99 + latencyMs * 0.01;
+            if (shortLatency > longLatency * latencyTolerance) {
+                decrease();
+            } else if (inFlight + 1 >= limit * 0.5) {
+                // only grow a limit that is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+
+        void onError(Throwable e) {
+            if (!isOverload(e)) {
+                return;
+            }
+            long pauseMs = retryAfterMs(e);
+            synchronized (this) {
+                decrease();
+                if (pauseMs > 0) {
+                    blockedUntil = Math.max(blockedUntil, System.currentTimeMillis() + pauseMs);
+                }
+            }
+            if (pauseMs > 0) {
+                // queued callers wake up when the provider said they may
+                Schedulers.parallel().schedule(this::drain, pauseMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void decrease() {
+            long now = System.currentTimeMillis();
+            if (now - lastDecrease >= cooldownMs) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecrease = now;
+            }
+        }
+
+        synchronized long retryAfterSeconds() {
+            long remaining = blockedUntil - System.currentTimeMillis();
+            return Math.max(1, (remaining + 999) / 1000);
+        }
+
+        synchronized double limit() {
+            return limit;
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+
+        synchronized int queueSize(LlmPriority priority) {
+            return waiting.size(priority);
+        }
+
+        synchronized Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("limit", Math.round(limit * 10) / 10.0);
+            stats.put("inFlight", inFlight);
+            stats.put("queuedInteractive", waiting.size(LlmPriority.INTERACTIVE));
+            stats.put("queuedBatch", waiting.size(LlmPriority.BATCH));
+            stats.put("pausedForMs", Math.max(0, blockedUntil - System.currentTimeMillis()));
+            return stats;
+        }
+    }
+
+    private static class Waiter {
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        final MonoSink<Long> sink;
+        final LlmPriority priority;
+        final String user;
+        final long enqueuedAt = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(MonoSink<Long> sink, LlmPriority priority, String user) {
+            this.sink = sink;
+            this.priority = priority;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.aicareercoach.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.aicareercoach.dto.AdviceHistoryDto;
+import com.aicareercoach.dto.AdviceHistoryPageDto;
+import com.aicareercoach.dto.AdviceHistorySummaryDto;
+import com.aicareercoach.dto.UserProfileRequest;
+import com.aicareercoach.exception.ResourceNotFoundException;
+import com.aicareercoach.model.AdviceHistory;
+import com.aicareercoach.model.User;
+import com.aicareercoach.repository.AdviceHistoryRepository;
+
+@Service
+public class AdviceHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private AdviceHistoryRepository adviceHistoryRepository;
+
+    // Runs on the application task executor so the insert is not on the response path
+    @Async
+    public void record(User user, UserProfileRequest profileRequest, String advice) {
+        AdviceHistory history = new AdviceHistory();
+        history.setUser(user);
+        history.setSkills(profileRequest.getSkills());
+        history.setInterests(profileRequest.getInterests());
+        history.setResponse(advice);
+        try {
+            adviceHistoryRepository.save(history);
+        } catch (Exception e) {
+            System.out.println("❗ Failed to save advice history: " + e.getMessage());
+        }
+    }
+
+    public AdviceHistoryPageDto listSummaries(User user, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int headLength = AdviceHistorySummaryDto.PREVIEW_LENGTH + 1;
+        // fetch one extra row to know whether there is a next page
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<AdviceHistorySummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = adviceHistoryRepository.findSummaries(user, headLength, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            rows = adviceHistoryRepository.findSummariesBefore(user, LocalDateTime.parse(position[0]),
+                    Long.parseLong(position[1]), headLength, limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new AdviceHistoryPageDto(rows, null);
+        }
+        List<AdviceHistorySummaryDto> page = rows.subList(0, pageSize);
+        AdviceHistorySummaryDto last = page.get(pageSize - 1);
+        return new AdviceHistoryPageDto(List.copyOf(page), encodeCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    public AdviceHistoryDto getDetail(User user, Long id) {
+        AdviceHistory h = adviceHistoryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new ResourceNotFoundException("Advice history entry not found: " + id));
+        return new AdviceHistoryDto(h.getId(), h.getSkills(), h.getInterests(), h.getResponse(), h.getCreatedAt());
+    }
+
+    // cursor = base64url("<createdAt>|<id>") of the last row on the previous page
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.aicareercoach.service;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.aicareercoach.dto.JobDto;
+
+import reactor.core.publisher.Mono;
+
+@Component
+@Order(1)
+public class AdzunaJobSource implements JobSource {
+
+    @Value("${adzuna.app.id}")
+    private String appId;
+
+    @Value("${adzuna.app.key}")
+    private String appKey;
+
+    // shared pooled client, see HttpClientConfig
+    @Autowired
+    private WebClient webClient;
+
+    @Override
+    public String getName() {
+        return "adzuna";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<List<JobDto>> search(String query, String location) {
+        URI uri = UriComponentsBuilder.fromUriString("https://api.adzuna.com/v1/api/jobs/in/search/1")
+            .queryParam("app_id", appId)
+            .queryParam("app_key", appKey)
+            .queryParam("q", query)
+            .queryParam("location0", location)
+            .encode()
+            .build()
+            .toUri();
+
+        return webClient.get()
+            .uri(uri)
+            .retrieve()
+            .bodyToMono(Map.class)
+            .map(response -> {
+                // Parse and map response to List<JobDto>
+                List<Map<String, Object>> results = (List<Map<String, Object>>) response.get("results");
+                if (results == null) {
+                    return List.<JobDto>of();
+                }
+                return results.stream().map(job -> new JobDto(
+                    (String) job.get("title"),
+                    job.containsKey("company") ? ((Map<String, String>) job.get("company")).get("display_name") : "",
+                    String.valueOf(job.get("location")),
+                    (String) job.get("description"),
+                    (String) job.get("redirect_url")
+                )).collect(Collectors.toList());
+            });
+    }
+}
@@ -1,24 +1,62 @@
 package com.aicareercoach.service;
 
 import com.aicareercoach.dto.UserProfileRequest;
+import com.aicareercoach.exception.ServiceBusyException;
 
 import com.aicareercoach.model.UserProfile;
 import com.aicareercoach.repository.UserProfileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
 @Service
 public class CareerService {
 
     @Autowired
     private UserProfileRepository userProfileRepository;
     
-    @Autowired private GroqAIService groqAIService;
+    @Autowired private LlmRouter llmRouter;
+
+    @Autowired private MeterRegistry meterRegistry;
 
  // Change your generateAdvice method:
     public String generateAdvice(UserProfileRequest profileRequest) {
-        String prompt = "Give career advice for skills: " + profileRequest.getSkills() +
+        return generateAdviceAsync(profileRequest).block();
+    }
+
+    /*
+     * Groq first, hedged to the other provider when it's slow.
+     * Any failure (429, open breaker, retries used up) is a ServiceBusyException, so the
+     * client gets 503 + Retry-After rather than an error message dressed up as advice.
+     * Timer ai.requests{endpoint=career-advice, outcome}.
+     */
+    public Mono<String> generateAdviceAsync(UserProfileRequest profileRequest) {
+        String prompt = advicePrompt(profileRequest);
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            meterRegistry.summary("ai.prompt.chars", "endpoint", "career-advice").record(prompt.length());
+            return llmRouter.generateAsync("groq", "career-advice", prompt, LlmPriority.INTERACTIVE)
+                    .doOnNext(r -> meterRegistry.summary("ai.response.chars", "endpoint", "career-advice").record(r.length()))
+                    .doOnSuccess(r -> stop(sample, r == null ? "empty" : "success"))
+                    .doOnError(e -> stop(sample, e instanceof ServiceBusyException ? "busy" : "error"));
+        })
+                .switchIfEmpty(Mono.error(() -> new ServiceBusyException("No advice received, please retry shortly", 1)))
+                .onErrorMap(e -> !(e instanceof ServiceBusyException), e -> {
+                    System.out.println("❗ Career advice failed: " + e.getMessage());
+                    long retryAfterSeconds = Math.max(1, (AdaptiveConcurrencyLimiter.retryAfterMs(e) + 999) / 1000);
+                    return new ServiceBusyException("Career advice is temporarily unavailable, please retry shortly", retryAfterSeconds);
+                });
+    }
+
+    private void stop(Timer.Sample sample, String outcome) {
+        sample.stop(meterRegistry.timer("ai.requests", "endpoint", "career-advice", "outcome", outcome));
+    }
+
+    private String advicePrompt(UserProfileRequest profileRequest) {
+        return "Give career advice for skills: " + profileRequest.getSkills() +
                 ", interests: " + profileRequest.getInterests();
-        return groqAIService.getAdvice(prompt);
     }
 }
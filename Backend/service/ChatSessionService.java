@@ -0,0 +1,203 @@
+package com.aicareercoach.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aicareercoach.exception.ResourceNotFoundException;
+import com.aicareercoach.exception.ServiceBusyException;
+
+/*
+ * Server-side chat sessions, so clients send only the new message each turn.
+ *
+ * The prompt context is token-budgeted: the last chat.context.recent-turns turns
+ * (a user message and its reply each) are kept verbatim and everything older is
+ * folded into a rolling summary. Summarizing runs in the background after a reply,
+ * so a turn never waits for it; until it finishes, the not-yet-folded turns are
+ * still sent verbatim (oldest dropped first if they don't fit chat.context.max-tokens).
+ *
+ * Sessions live in memory, belong to the user that created them, and expire after
+ * chat.sessions.ttl-minutes without activity.
+ */
+@Service
+public class ChatSessionService {
+
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
+
+    @Value("${chat.context.recent-turns:8}")
+    private int recentTurns;
+
+    @Value("${chat.context.max-tokens:3000}")
+    private int maxContextTokens;
+
+    @Value("${chat.sessions.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${chat.sessions.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private final ConcurrentHashMap<String, ChatSession> sessions = new ConcurrentHashMap<>();
+
+    public String create(String owner) {
+        if (sessions.size() >= maxSessions) {
+            evictExpired();
+            if (sessions.size() >= maxSessions) {
+                throw new ServiceBusyException("Too many active chat sessions, please retry later.", 60);
+            }
+        }
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new ChatSession(id, owner));
+        return id;
+    }
+
+    public ChatSession get(String id, String owner) {
+        ChatSession session = id == null ? null : sessions.get(id);
+        if (session == null || !session.owner.equals(owner)) {
+            throw new ResourceNotFoundException("Chat session not found: " + id);
+        }
+        session.touch();
+        return session;
+    }
+
+    public void end(String id, String owner) {
+        sessions.remove(get(id, owner).id);
+    }
+
+    // "Previous conversation context" block for the next prompt, within the token budget
+    public String context(ChatSession session) {
+        synchronized (session) {
+            StringBuilder context = new StringBuilder();
+            int budget = maxContextTokens;
+            if (session.summary != null) {
+                context.append("Summary of the earlier conversation:\n").append(session.summary).append("\n\n");
+                budget -= estimateTokens(session.summary);
+            }
+            // newest first until the budget runs out, then emit in chronological order
+            int from = session.turns.size();
+            while (from > 0 && budget - estimateTokens(session.turns.get(from - 1).text()) >= 0) {
+                budget -= estimateTokens(session.turns.get(--from).text());
+            }
+            if (from < session.turns.size()) {
+                context.append("Previous conversation context:\n");
+                for (Turn turn : session.turns.subList(from, session.turns.size())) {
+                    context.append(turn.user() ? "User: " : "Assistant: ").append(turn.text()).append("\n");
+                }
+                context.append("\n");
+            }
+            return context.toString();
+        }
+    }
+
+    public void addExchange(ChatSession session, String userMessage, String reply) {
+        synchronized (session) {
+            session.turns.add(new Turn(true, userMessage));
+            session.turns.add(new Turn(false, reply));
+        }
+        summarizeIfNeeded(session);
+    }
+
+    private void summarizeIfNeeded(ChatSession session) {
+        List<Turn> toFold;
+        String previousSummary;
+        synchronized (session) {
+            // two messages per turn, so only whole exchanges are folded
+            int overflow = session.turns.size() - 2 * recentTurns;
+            if (overflow <= 0 || session.summarizing) {
+                return;
+            }
+            session.summarizing = true;
+            toFold = new ArrayList<>(session.turns.subList(0, overflow));
+            previousSummary = session.summary;
+        }
+        try {
+            taskExecutor.execute(() -> summarize(session, previousSummary, toFold));
+        } catch (RejectedExecutionException e) {
+            // busy, the next turn will try again
+            synchronized (session) {
+                session.summarizing = false;
+            }
+        }
+    }
+
+    private void summarize(ChatSession session, String previousSummary, List<Turn> toFold) {
+        StringBuilder transcript = new StringBuilder();
+        for (Turn turn : toFold) {
+            transcript.append(turn.user() ? "User: " : "Assistant: ").append(turn.text()).append("\n");
+        }
+        String prompt = """
+Summarize this career coaching conversation for use as context in later turns.
+Keep the user's goals, background, constraints and any advice already given. Maximum 150 words, plain text.
+
+Existing summary:
+%s
+
+New messages:
+%s
+""".formatted(previousSummary == null ? "(none)" : previousSummary, transcript);
+        try {
+            String summary = llmRouter.generate("chat-summary", prompt, LlmPriority.BATCH, session.owner).trim();
+            synchronized (session) {
+                session.summary = summary;
+                // turns were only ever appended, so the folded ones are still at the front
+                session.turns.subList(0, toFold.size()).clear();
+            }
+        } catch (Exception e) {
+            System.out.println("❗ Chat summary failed for session " + session.id + ": " + e.getMessage());
+        } finally {
+            synchronized (session) {
+                session.summarizing = false;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.sessions.cleanup-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMinutes * 60_000;
+        sessions.values().removeIf(s -> s.lastAccess < cutoff);
+    }
+
+    // rough, ~4 characters per token for English text
+    static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    public record Turn(boolean user, String text) {
+    }
+
+    public static class ChatSession {
+        private final String id;
+        private final String owner;
+        private final List<Turn> turns = new ArrayList<>();
+        private String summary;
+        private boolean summarizing;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        ChatSession(String id, String owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.aicareercoach.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.aicareercoach.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Bulkhead + circuit breaker per upstream dependency (gemini, groq, adzuna, remotive),
+ * so one failing upstream can't tie up every request.
+ *
+ *  - bulkhead: at most resilience.<name>.max-concurrent calls in flight; more fail
+ *    fast instead of queueing
+ *  - breaker: opens when at least min-calls of the last window-size calls were made
+ *    and failure-rate-threshold of them failed. While open every call fails fast for
+ *    open-ms, then half-open-probes calls are let through: all succeed -> closed,
+ *    any fails -> open again
+ *
+ * Fast failures are ServiceBusyException (503 + Retry-After) so callers can fall back.
+ * Settings default to resilience.default.*.
+ *
+ * Metrics: resilience.calls{dependency, result}, resilience.circuit.state{dependency}
+ * (0 closed, 1 open, 2 half-open). Current state: GET /actuator/dependencies.
+ */
+@Component
+public class DependencyGuard {
+
+    private final ConcurrentHashMap<String, Guard> guards = new ConcurrentHashMap<>();
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public DependencyGuard(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> call(String dependency, Supplier<Mono<T>> call) {
+        return stream(dependency, () -> call.get().flux()).singleOrEmpty();
+    }
+
+    // streaming variant: the call holds its bulkhead slot until the stream ends
+    public <T> Flux<T> stream(String dependency, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            Guard guard = guard(dependency);
+            if (!guard.tryAcquirePermission()) {
+                count(dependency, "rejected_open");
+                return Flux.error(new ServiceBusyException(dependency + " is temporarily unavailable", guard.retryAfterSeconds()));
+            }
+            if (!guard.bulkhead.tryAcquire()) {
+                guard.releasePermission();
+                count(dependency, "rejected_full");
+                return Flux.error(new ServiceBusyException(dependency + " is at capacity, please retry shortly", 1));
+            }
+            return call.get()
+                    .doOnComplete(() -> {
+                        guard.onSuccess();
+                        count(dependency, "success");
+                    })
+                    .doOnError(e -> {
+                        if (isFailure(e)) {
+                            guard.onFailure();
+                            count(dependency, "failure");
+                        } else {
+                            guard.onSuccess();
+                            count(dependency, "success");
+                        }
+                    })
+                    .doOnCancel(guard::releasePermission)
+                    .doFinally(signal -> guard.bulkhead.release());
+        });
+    }
+
+    // bulkhead size; AdaptiveConcurrencyLimiter never lets more than this through
+    public int maxConcurrent(String dependency) {
+        return guard(dependency).maxConcurrent;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        guards.forEach((name, guard) -> stats.put(name, guard.stats()));
+        return stats;
+    }
+
+    // the caller sent something wrong (4xx other than 429), the upstream itself is fine
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return true;
+    }
+
+    private Guard guard(String dependency) {
+        return guards.computeIfAbsent(dependency, name -> {
+            Guard guard = new Guard(
+                    setting(name, "max-concurrent", Integer.class, 20),
+                    setting(name, "window-size", Integer.class, 20),
+                    setting(name, "min-calls", Integer.class, 10),
+                    setting(name, "failure-rate-threshold", Double.class, 0.5),
+                    setting(name, "open-ms", Long.class, 30000L),
+                    setting(name, "half-open-probes", Integer.class, 1));
+            Gauge.builder("resilience.circuit.state", guard, g -> g.state().ordinal())
+                    .tag("dependency", name)
+                    .register(meterRegistry);
+            return guard;
+        });
+    }
+
+    private <T> T setting(String dependency, String key, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("resilience.default." + key, type, defaultValue);
+        return environment.getProperty("resilience." + dependency + "." + key, type, fallback);
+    }
+
+    private void count(String dependency, String result) {
+        meterRegistry.counter("resilience.calls", "dependency", dependency, "result", result).increment();
+    }
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    static class Guard {
+        final Semaphore bulkhead;
+        final int maxConcurrent;
+        private final boolean[] outcomes;
+        private final int minCalls;
+        private final double failureRateThreshold;
+        private final long openMs;
+        private final int halfOpenProbes;
+
+        private State state = State.CLOSED;
+        private int next;
+        private int recorded;
+        private int failures;
+        private long openedAt;
+        private int probesInFlight;
+        private int probesSucceeded;
+
+        Guard(int maxConcurrent, int windowSize, int minCalls, double failureRateThreshold, long openMs, int halfOpenProbes) {
+            this.bulkhead = new Semaphore(maxConcurrent);
+            this.maxConcurrent = maxConcurrent;
+            this.outcomes = new boolean[windowSize];
+            this.minCalls = minCalls;
+            this.failureRateThreshold = failureRateThreshold;
+            this.openMs = openMs;
+            this.halfOpenProbes = halfOpenProbes;
+        }
+
+        synchronized State state() {
+            return state;
+        }
+
+        synchronized boolean tryAcquirePermission() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openMs) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+                probesSucceeded = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight + probesSucceeded >= halfOpenProbes) {
+                    return false;
+                }
+                probesInFlight++;
+            }
+            return true;
+        }
+
+        // a call that was let through but never produced an outcome (rejected by the bulkhead, cancelled)
+        synchronized void releasePermission() {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+
+        synchronized void onSuccess() {
+            if (state == State.HALF_OPEN) {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (++probesSucceeded >= halfOpenProbes) {
+                    close();
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+
+        synchronized void onFailure() {
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (recorded >= minCalls && failures >= failureRateThreshold * recorded) {
+                    open();
+                }
+            }
+        }
+
+        synchronized long retryAfterSeconds() {
+            long remaining = openMs - (System.currentTimeMillis() - openedAt);
+            return Math.max(1, (remaining + 999) / 1000);
+        }
+
+        synchronized Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("state", state.name());
+            stats.put("callsInWindow", recorded);
+            stats.put("failuresInWindow", failures);
+            stats.put("availableConcurrency", bulkhead.availablePermits());
+            return stats;
+        }
+
+        private void record(boolean failure) {
+            if (recorded == outcomes.length) {
+                if (outcomes[next]) {
+                    failures--;
+                }
+            } else {
+                recorded++;
+            }
+            outcomes[next] = failure;
+            if (failure) {
+                failures++;
+            }
+            next = (next + 1) % outcomes.length;
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+}
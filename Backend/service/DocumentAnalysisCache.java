@@ -0,0 +1,222 @@
+package com.aicareercoach.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Content-addressed cache for uploaded documents:
+ *   sha256(bytes) + max-chars -> extracted text
+ *   sha256(bytes) + model     -> analysis reply
+ * so re-uploading the same file skips both PDFBox and the LLM.
+ *
+ * In memory it's an LRU bounded by documents.cache.max-entries. If documents.cache.dir
+ * is set, entries are also written there as files and read back after a restart
+ * or an in-memory eviction. The directory is bounded by documents.cache.max-disk-bytes:
+ * past that, the least recently used files (by mtime, touched on every hit) are deleted.
+ *
+ * Stats at /actuator/documentcache.
+ */
+@Component
+public class DocumentAnalysisCache {
+
+    private final int maxEntries;
+    private final Path dir;
+    private final long maxDiskBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    private final Map<String, String> entries;
+
+    public DocumentAnalysisCache(
+            @Value("${documents.cache.max-entries:1000}") int maxEntries,
+            @Value("${documents.cache.dir:}") String dir,
+            @Value("${documents.cache.max-disk-bytes:104857600}") long maxDiskBytes) throws IOException {
+        this.maxEntries = maxEntries;
+        this.dir = dir.isBlank() ? null : Files.createDirectories(Path.of(dir));
+        this.maxDiskBytes = maxDiskBytes;
+        if (this.dir != null) {
+            // whatever a previous run left behind counts against the budget
+            diskBytes.set(files().stream().mapToLong(DocumentAnalysisCache::size).sum());
+            evictFiles();
+        }
+        // access-order = true gives us LRU iteration order
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > DocumentAnalysisCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    // the text depends on how much of it we kept, so max-chars is part of the key
+    public String getText(String sha256, int maxChars) {
+        return get(sha256 + "." + maxChars + ".txt");
+    }
+
+    public void putText(String sha256, int maxChars, String text) {
+        put(sha256 + "." + maxChars + ".txt", text);
+    }
+
+    public String getAnalysis(String sha256, String model) {
+        return get(sha256 + "." + model + ".md");
+    }
+
+    public void putAnalysis(String sha256, String model, String analysis) {
+        put(sha256 + "." + model + ".md", analysis);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("persistent", dir != null);
+        if (dir != null) {
+            stats.put("diskBytes", diskBytes.get());
+            stats.put("maxDiskBytes", maxDiskBytes);
+            stats.put("diskEvictions", diskEvictions.get());
+        }
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    private String get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value == null && dir != null) {
+            value = readFile(key);
+            if (value != null) {
+                synchronized (entries) {
+                    entries.put(key, value);
+                }
+            }
+        }
+        (value != null ? hits : misses).incrementAndGet();
+        return value;
+    }
+
+    private void put(String key, String value) {
+        if (!isEnabled() || value == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+        if (dir != null) {
+            writeFile(key, value);
+        }
+    }
+
+    private String readFile(String key) {
+        Path file = dir.resolve(key);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            String value = Files.readString(file, StandardCharsets.UTF_8);
+            // mtime doubles as last access for evictFiles
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return value;
+        } catch (IOException e) {
+            System.out.println("❗ Document cache read failed for " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeFile(String key, String value) {
+        try {
+            // write + atomic move so a concurrent reader never sees half a file
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.writeString(tmp, value, StandardCharsets.UTF_8);
+            Path file = dir.resolve(key);
+            long replaced = Files.exists(file) ? size(file) : 0;
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskBytes.addAndGet(size(file) - replaced) > maxDiskBytes) {
+                evictFiles();
+            }
+        } catch (IOException e) {
+            System.out.println("❗ Document cache write failed for " + key + ": " + e.getMessage());
+        }
+    }
+
+    // deletes least recently used files until the directory is back under 90% of the budget
+    private synchronized void evictFiles() {
+        if (diskBytes.get() <= maxDiskBytes) {
+            return;
+        }
+        List<Path> files = files();
+        files.sort(Comparator.comparing(DocumentAnalysisCache::lastModified));
+        long target = maxDiskBytes / 10 * 9;
+        for (Path file : files) {
+            if (diskBytes.get() <= target) {
+                break;
+            }
+            long size = size(file);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    diskBytes.addAndGet(-size);
+                    diskEvictions.incrementAndGet();
+                }
+            } catch (IOException e) {
+                System.out.println("❗ Document cache eviction failed for " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private List<Path> files() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            System.out.println("❗ Document cache listing failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
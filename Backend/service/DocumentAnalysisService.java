@@ -0,0 +1,127 @@
+package com.aicareercoach.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.aicareercoach.dto.DocumentAnalysisResultDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Document analysis for /upload-analyze and its batch variant.
+ *
+ * Batch pipeline, per file:  extract (documents.batch.extract-concurrency at a time,
+ * PDF parsing itself still runs on the bounded documentExecutor)  ->  LLM analysis
+ * (documents.batch.llm-concurrency at a time). Results are emitted in completion
+ * order, so one slow file doesn't hold back the others.
+ */
+@Service
+public class DocumentAnalysisService {
+
+    @Autowired
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Autowired
+    private DocumentAnalysisCache documentCache;
+
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Value("${documents.batch.max-files:50}")
+    private int maxBatchFiles;
+
+    @Value("${documents.batch.extract-concurrency:4}")
+    private int extractConcurrency;
+
+    @Value("${documents.batch.llm-concurrency:4}")
+    private int llmConcurrency;
+
+    public int getMaxBatchFiles() {
+        return maxBatchFiles;
+    }
+
+    // cached analysis for the document, or null
+    public String cachedAnalysis(DocumentTextExtractor.ExtractedDocument document) {
+        return document.cacheable() ? documentCache.getAnalysis(document.sha256(), llmRouter.primaryModel()) : null;
+    }
+
+    public String analyze(DocumentTextExtractor.ExtractedDocument document) throws Exception {
+        return analyze(document, null);
+    }
+
+    // user == null: take it from the calling thread's security context
+    private String analyze(DocumentTextExtractor.ExtractedDocument document, String user) throws Exception {
+        // same bytes, same model -> same analysis
+        String cached = cachedAnalysis(document);
+        if (cached != null) {
+            return cached;
+        }
+        String prompt = analysisPrompt(document.text());
+        LlmReply reply = user == null
+                ? llmRouter.generateReply("upload-analyze", prompt, LlmPriority.BATCH)
+                : llmRouter.generateReply("upload-analyze", prompt, LlmPriority.BATCH, user);
+        String analysis = reply.text().trim();
+        // looked up under the primary's model, a hedged answer isn't cached
+        if (document.cacheable() && !reply.hedged()) {
+            documentCache.putAnalysis(document.sha256(), reply.model(), analysis);
+        }
+        return analysis;
+    }
+
+    public Flux<DocumentAnalysisResultDto> analyzeBatch(List<MultipartFile> files, String user) {
+        return Flux.range(0, files.size())
+                .flatMap(i -> extract(i, files.get(i)), extractConcurrency)
+                .flatMap(extracted -> analyze(extracted, user), llmConcurrency);
+    }
+
+    private Mono<Extracted> extract(int index, MultipartFile file) {
+        long start = System.nanoTime();
+        return Mono.fromCallable(() -> new Extracted(index, file.getOriginalFilename(), start, documentTextExtractor.extract(file), null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> Mono.just(new Extracted(index, file.getOriginalFilename(), start, null, e.getMessage())));
+    }
+
+    private Mono<DocumentAnalysisResultDto> analyze(Extracted extracted, String user) {
+        if (extracted.error() != null) {
+            return Mono.just(result(extracted, DocumentAnalysisResultDto.ERROR, null, extracted.error()));
+        }
+        String cached = cachedAnalysis(extracted.document());
+        if (cached != null) {
+            return Mono.just(result(extracted, DocumentAnalysisResultDto.CACHED, cached, null));
+        }
+        // generate() is blocking, the flatMap concurrency is what caps parallel LLM calls
+        return Mono.fromCallable(() -> result(extracted, DocumentAnalysisResultDto.OK, analyze(extracted.document(), user), null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> Mono.just(result(extracted, DocumentAnalysisResultDto.ERROR, null, "Failed to analyze document: " + e.getMessage())));
+    }
+
+    private static DocumentAnalysisResultDto result(Extracted extracted, String status, String reply, String error) {
+        long tookMs = (System.nanoTime() - extracted.start()) / 1_000_000;
+        return new DocumentAnalysisResultDto(extracted.index(), extracted.fileName(), status, reply, error, tookMs);
+    }
+
+    static String analysisPrompt(String extractedText) {
+        return """
+You are an expert career coach. I've uploaded a document for analysis. Please review it and provide:
+
+1. **Document Type**: What type of document this appears to be (resume, cover letter, job posting, etc.)
+2. **Key Strengths**: What are the main strengths or positive aspects?
+3. **Areas for Improvement**: What could be enhanced or improved?
+4. **Specific Recommendations**: 3-5 actionable suggestions
+
+Document content:
+%s
+
+Provide your analysis in markdown format:
+""".formatted(extractedText);
+    }
+
+    private record Extracted(int index, String fileName, long start, DocumentTextExtractor.ExtractedDocument document, String error) {
+    }
+}
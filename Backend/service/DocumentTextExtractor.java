@@ -0,0 +1,207 @@
+package com.aicareercoach.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.aicareercoach.exception.PayloadTooLargeException;
+import com.aicareercoach.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Text extraction for uploaded documents with bounded memory:
+ *  - size limits are checked before anything is parsed
+ *  - PDFs are loaded with a small in-memory buffer that spills to a temp file,
+ *    and text is pulled page by page until documents.max-chars is reached
+ *  - text files are read through a bounded reader with an explicit charset
+ *  - results are keyed by the SHA-256 of the uploaded bytes, so a file we've
+ *    already seen is served from DocumentAnalysisCache without parsing it again
+ */
+@Service
+public class DocumentTextExtractor {
+
+    // PDFBox is CPU bound and full of synchronized blocks, keep it off (virtual) request threads
+    @Autowired
+    @Qualifier("documentExecutor")
+    private Executor documentExecutor;
+
+    @Autowired
+    private DocumentAnalysisCache documentCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${documents.max-chars:6000}")
+    private int maxChars;
+
+    @Value("${documents.max-file-bytes:10485760}")
+    private long maxFileBytes;
+
+    @Value("${documents.pdf.max-pages:200}")
+    private int maxPages;
+
+    @Value("${documents.pdf.max-main-memory-bytes:4194304}")
+    private long pdfMaxMainMemoryBytes;
+
+    @Value("${documents.text.charset:UTF-8}")
+    private Charset textCharset;
+
+    /*
+     * cacheable is false when the text is a placeholder (unsupported type, unreadable PDF)
+     * rather than the document's content; those results depend on more than the bytes.
+     */
+    public record ExtractedDocument(String sha256, String text, boolean cacheable) {
+    }
+
+    // Timer documents.extract{type=pdf|text, outcome=parsed|cached|unreadable|busy|error}
+    public ExtractedDocument extract(MultipartFile file) throws IOException {
+        if (file.getSize() > maxFileBytes) {
+            throw new PayloadTooLargeException("File is too large (max " + (maxFileBytes / (1024 * 1024)) + " MB)");
+        }
+
+        String fileName = file.getOriginalFilename();
+        String fileType = file.getContentType();
+        boolean pdf = fileType != null && fileType.equals("application/pdf");
+        boolean text = fileType != null && fileType.equals("text/plain");
+
+        if (!pdf && !text) {
+            meterRegistry.counter("documents.extract.unsupported").increment();
+            return new ExtractedDocument(null, "File uploaded: " + fileName + " (" + fileType + ")", false);
+        }
+
+        String type = pdf ? "pdf" : "text";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String sha256 = sha256(file);
+            String cached = documentCache.getText(sha256, maxChars);
+            if (cached != null) {
+                outcome = "cached";
+                return new ExtractedDocument(sha256, cached, true);
+            }
+
+            String extracted;
+            if (pdf) {
+                try {
+                    extracted = extractPdf(file);
+                } catch (PayloadTooLargeException ex) {
+                    throw ex;
+                } catch (ServiceBusyException ex) {
+                    outcome = "busy";
+                    throw ex;
+                } catch (Exception ex) {
+                    outcome = "unreadable";
+                    return new ExtractedDocument(sha256, "Unable to extract text from PDF. (" + ex.getMessage() + ")", false);
+                }
+            } else {
+                try (InputStream in = file.getInputStream()) {
+                    extracted = readText(in);
+                }
+            }
+            documentCache.putText(sha256, maxChars, extracted);
+            meterRegistry.summary("documents.extract.chars", "type", type).record(extracted.length());
+            outcome = "parsed";
+            return new ExtractedDocument(sha256, extracted, true);
+        } finally {
+            sample.stop(meterRegistry.timer("documents.extract", "type", type, "outcome", outcome));
+        }
+    }
+
+    // streams the upload through the digest, never holds more than one buffer of it
+    String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String extractPdf(MultipartFile file) throws Exception {
+        CompletableFuture<String> parsing;
+        try {
+            parsing = CompletableFuture.supplyAsync(() -> {
+                try (InputStream in = file.getInputStream()) {
+                    return readPdf(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, documentExecutor);
+        } catch (RejectedExecutionException e) {
+            // pool and queue are full; that says nothing about the document, so no placeholder text
+            throw new ServiceBusyException("Document processing is busy, please retry shortly", 1);
+        }
+        try {
+            return parsing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+            if (cause instanceof PayloadTooLargeException tooLarge) {
+                throw tooLarge;
+            }
+            throw new Exception(cause.getMessage(), cause);
+        }
+    }
+
+    String readPdf(InputStream in) throws IOException {
+        try (PDDocument document = PDDocument.load(in, MemoryUsageSetting.setupMixed(pdfMaxMainMemoryBytes))) {
+            int pages = document.getNumberOfPages();
+            if (pages > maxPages) {
+                throw new PayloadTooLargeException("PDF has too many pages (" + pages + ", max " + maxPages + ")");
+            }
+            PDFTextStripper pdfStripper = new PDFTextStripper();
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= pages && text.length() <= maxChars; page++) {
+                pdfStripper.setStartPage(page);
+                pdfStripper.setEndPage(page);
+                text.append(pdfStripper.getText(document));
+            }
+            return truncate(text);
+        }
+    }
+
+    String readText(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, textCharset));
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[4096];
+        int read;
+        // read one char past the budget so we know whether to add "..."
+        while (text.length() <= maxChars && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars + 1 - text.length()))) != -1) {
+            text.append(buffer, 0, read);
+        }
+        return truncate(text);
+    }
+
+    private String truncate(StringBuilder text) {
+        if (text.length() > maxChars) {
+            return text.substring(0, maxChars) + "...";
+        }
+        return text.toString();
+    }
+}
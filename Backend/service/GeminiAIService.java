@@ -0,0 +1,116 @@
+package com.aicareercoach.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Order(1)
+public class GeminiAIService implements LlmProvider {
+
+    public static final String MODEL = "gemini-2.5-flash";
+
+    private static final String BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models/" + MODEL;
+
+    @Value("${gemini.api.key}")
+    private String geminiApiKey;
+
+    /*
+     * gemini-2.5 counts thinking tokens against maxOutputTokens. 0 turns thinking off so
+     * maxOutputTokens is exactly the answer cap; a budget above 0 is added on top of it.
+     */
+    @Value("${gemini.thinking-budget:0}")
+    private int thinkingBudget;
+
+    // shared pooled client, see HttpClientConfig
+    @Autowired
+    private WebClient webClient;
+
+    @Override
+    public String getName() {
+        return "gemini";
+    }
+
+    @Override
+    public String getModel() {
+        return MODEL;
+    }
+
+    // use LlmRouter rather than calling this directly, it adds hedging and coalescing
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<String> complete(String prompt, int maxTokens) {
+        return webClient.post()
+                .uri(BASE_URL + ":generateContent")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("x-goog-api-key", geminiApiKey)
+                .bodyValue(requestBody(prompt, maxTokens))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .mapNotNull(response -> extractText((Map<String, Object>) response))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No content generated from Gemini API")));
+    }
+
+    /*
+     * streamGenerateContent with alt=sse: every SSE event is a partial
+     * GenerateContentResponse, we emit only the text delta of each one.
+     * Same as complete(): use LlmRouter.stream.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Flux<String> stream(String prompt, int maxTokens) {
+        return webClient.post()
+                .uri(BASE_URL + ":streamGenerateContent?alt=sse")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("x-goog-api-key", geminiApiKey)
+                .bodyValue(requestBody(prompt, maxTokens))
+                .retrieve()
+                .bodyToFlux(Map.class)
+                .mapNotNull(chunk -> extractText((Map<String, Object>) chunk))
+                .filter(text -> !text.isEmpty());
+    }
+
+    private Map<String, Object> requestBody(String prompt, int maxTokens) {
+        Map<String, Object> textPart = Map.of("text", prompt);
+        Map<String, Object> contentPart = Map.of("parts", new Object[] { textPart });
+        Map<String, Object> generationConfig = Map.of(
+                "maxOutputTokens", maxTokens + thinkingBudget,
+                "thinkingConfig", Map.of("thinkingBudget", thinkingBudget));
+        return Map.of("contents", new Object[] { contentPart }, "generationConfig", generationConfig);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractText(Map<String, Object> response) {
+        if (response != null && response.containsKey("candidates")) {
+            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
+            for (Map<String, Object> candidate : candidates) {
+                Object contentObj = candidate.get("content");
+                if (contentObj instanceof Map) {
+                    Map<String, Object> contentMap = (Map<String, Object>) contentObj;
+                    Object partsObj = contentMap.get("parts");
+                    if (partsObj instanceof List) {
+                        for (Object partObj : (List<?>) partsObj) {
+                            if (partObj instanceof Map) {
+                                Object text = ((Map<?, ?>) partObj).get("text");
+                                if (text instanceof String) {
+                                    return (String) text;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,8 @@
 package com.aicareercoach.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -8,42 +10,52 @@ import reactor.core.publisher.Mono;
 import java.util.Map;
 
 @Service
-public class GroqAIService {
+@Order(2)
+public class GroqAIService implements LlmProvider {
+
+    private static final String MODEL = "llama3-70b-8192"; // example, check Groq for available models
 
     @Value("${groq.api.key}")
     private String apiKey;
     @Value("${groq.api.url}")
     private String apiUrl;
 
-    private final WebClient webClient = WebClient.builder().build();
+    // shared pooled client, see HttpClientConfig
+    @Autowired
+    private WebClient webClient;
+
+    @Override
+    public String getName() {
+        return "groq";
+    }
 
-    public String getAdvice(String prompt) {
+    @Override
+    public String getModel() {
+        return MODEL;
+    }
+
+    // use LlmRouter rather than calling this directly, it adds hedging and coalescing
+    @Override
+    public Mono<String> complete(String prompt, int maxTokens) {
         Map<String, Object> requestBody = Map.of(
-            "model", "llama3-70b-8192", // example, check Groq for available models
+            "model", MODEL,
             "messages", java.util.List.of(
                 Map.of("role", "user", "content", prompt)
             ),
-            "max_tokens", 512
+            "max_tokens", maxTokens
         );
 
-        try {
-            GroqAIResponse result = webClient.post()
-                .uri(apiUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .header("Authorization", "Bearer " + apiKey)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(GroqAIResponse.class)
-                .block();
-
-            if(result != null && !result.choices.isEmpty()) {
-                return result.choices.get(0).message.content;
-            } else {
-                return "No advice received from Groq.";
-            }
-        } catch(Exception e) {
-            return "Error contacting Groq API: " + e.getMessage();
-        }
+        return webClient.post()
+            .uri(apiUrl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Authorization", "Bearer " + apiKey)
+            .bodyValue(requestBody)
+            .retrieve()
+            .bodyToMono(GroqAIResponse.class)
+            .mapNotNull(result -> result.choices != null && !result.choices.isEmpty()
+                    ? result.choices.get(0).message.content
+                    : null)
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("No content generated from Groq API")));
     }
 
     // Nested static classes to map response
@@ -0,0 +1,264 @@
+package com.aicareercoach.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aicareercoach.exception.ConflictException;
+import com.aicareercoach.exception.ResourceNotFoundException;
+import com.aicareercoach.exception.ServiceBusyException;
+
+/*
+ * Stateful mock interviews with speculative prefetch.
+ *
+ * As soon as a question is shown, the next one is generated in the background
+ * (it doesn't depend on the candidate's answer, only on the role and the questions
+ * asked so far). Submitting an answer then only needs the grading call; the
+ * prefetched question is usually ready by the time the grade comes back.
+ * Ending or expiring a session cancels a prefetch that is still running.
+ * One answer per question: a second answer while the first is being graded gets a 409,
+ * rather than both taking the same prefetched question.
+ */
+@Service
+public class InterviewSessionService {
+
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${interview.sessions.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${interview.sessions.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    // how long an answer waits for a prefetch that is still running before generating inline
+    @Value("${interview.prefetch.wait-ms:15000}")
+    private long prefetchWaitMs;
+
+    private final ConcurrentHashMap<String, InterviewSession> sessions = new ConcurrentHashMap<>();
+
+    public Map<String, Object> start(String owner, String jobRole) throws Exception {
+        if (sessions.size() >= maxSessions) {
+            evictExpired();
+            if (sessions.size() >= maxSessions) {
+                throw new ServiceBusyException("Too many active interview sessions, please retry later.", 60);
+            }
+        }
+        InterviewSession session = new InterviewSession(UUID.randomUUID().toString(), owner, jobRole);
+        String question = llmRouter.generate("mock-interview", firstQuestionPrompt(jobRole), LlmPriority.INTERACTIVE, owner).trim();
+        session.showQuestion(question);
+        sessions.put(session.id, session);
+        prefetchNext(session);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessionId", session.id);
+        result.put("response", question);
+        return result;
+    }
+
+    public Map<String, Object> answer(String id, String owner, String answer) throws Exception {
+        InterviewSession session = get(id, owner);
+        String question;
+        synchronized (session) {
+            if (session.answering) {
+                throw new ConflictException("The answer to this question is still being graded.");
+            }
+            session.answering = true;
+            question = session.currentQuestion;
+        }
+
+        String feedback;
+        String next;
+        try {
+            feedback = llmRouter.generate("mock-interview", feedbackPrompt(session.jobRole, question, answer), LlmPriority.INTERACTIVE, owner).trim();
+            next = takePrefetched(session);
+            if (next == null) {
+                next = llmRouter.generate("mock-interview", nextQuestionPrompt(session), LlmPriority.INTERACTIVE, owner).trim();
+            }
+            synchronized (session) {
+                if (session.ended) {
+                    throw new ResourceNotFoundException("Interview session not found: " + id);
+                }
+                session.showQuestion(next);
+            }
+        } finally {
+            synchronized (session) {
+                session.answering = false;
+            }
+        }
+        prefetchNext(session);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("response", feedback);
+        result.put("nextQuestion", next);
+        return result;
+    }
+
+    public void end(String id, String owner) {
+        InterviewSession session = get(id, owner);
+        sessions.remove(session.id);
+        session.end();
+    }
+
+    private InterviewSession get(String id, String owner) {
+        InterviewSession session = id == null ? null : sessions.get(id);
+        if (session == null || !session.owner.equals(owner)) {
+            throw new ResourceNotFoundException("Interview session not found: " + id);
+        }
+        session.lastAccess = System.currentTimeMillis();
+        return session;
+    }
+
+    private void prefetchNext(InterviewSession session) {
+        String prompt = nextQuestionPrompt(session);
+        synchronized (session) {
+            if (session.ended) {
+                return;
+            }
+            try {
+                session.prefetch = taskExecutor.submit(() -> llmRouter.generate("mock-interview", prompt, LlmPriority.INTERACTIVE, session.owner).trim());
+            } catch (RejectedExecutionException e) {
+                // busy, the answer will generate the next question inline
+                session.prefetch = null;
+            }
+        }
+    }
+
+    // the prefetched question, or null if there is none or it failed / took too long
+    private String takePrefetched(InterviewSession session) {
+        Future<String> prefetch;
+        synchronized (session) {
+            prefetch = session.prefetch;
+            session.prefetch = null;
+        }
+        if (prefetch == null) {
+            return null;
+        }
+        try {
+            return prefetch.get(prefetchWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            prefetch.cancel(true);
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            prefetch.cancel(true);
+            System.out.println("❗ Interview question prefetch failed for session " + session.id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${interview.sessions.cleanup-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMinutes * 60_000;
+        sessions.values().removeIf(s -> {
+            if (s.lastAccess < cutoff) {
+                s.end();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static String firstQuestionPrompt(String jobRole) {
+        return """
+You are conducting a mock interview for a %s position.
+
+Start the interview by:
+1. Greeting the candidate warmly
+2. Asking the first interview question (choose from behavioral, technical, or situational based on the role)
+3. Providing context for what you're looking for in the answer
+
+Format your response as:
+**Interviewer:** [Your greeting and question]
+
+**Looking for:** [Brief note on what makes a good answer]
+""".formatted(jobRole);
+    }
+
+    private static String feedbackPrompt(String jobRole, String question, String answer) {
+        return """
+You are an interview coach providing feedback on this answer for a %s role:
+
+**Question:** %s
+**Candidate's Answer:** %s
+
+Provide:
+also add some bullets points in answer that is kinda readable format .
+1. **Feedback:** Specific feedback on the answer (2-3 sentences)
+2. **Score:** Rate the answer from 1-10
+3. **Improvement Tips:** 1-2 specific ways to improve
+
+Do not ask another question. Format your response with clear sections.
+""".formatted(jobRole, question, answer);
+    }
+
+    private static String nextQuestionPrompt(InterviewSession session) {
+        String asked;
+        synchronized (session) {
+            asked = String.join("\n---\n", session.askedQuestions);
+        }
+        return """
+You are conducting a mock interview for a %s position. These questions were already asked:
+
+%s
+
+Ask the next interview question (behavioral, technical, or situational), different from the ones above.
+
+Format your response as:
+**Interviewer:** [Your question]
+
+**Looking for:** [Brief note on what makes a good answer]
+""".formatted(session.jobRole, asked);
+    }
+
+    private static class InterviewSession {
+        private final String id;
+        private final String owner;
+        private final String jobRole;
+        private final List<String> askedQuestions = new ArrayList<>();
+        private String currentQuestion;
+        private Future<String> prefetch;
+        private boolean answering;
+        private boolean ended;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        InterviewSession(String id, String owner, String jobRole) {
+            this.id = id;
+            this.owner = owner;
+            this.jobRole = jobRole;
+        }
+
+        synchronized void showQuestion(String question) {
+            currentQuestion = question;
+            askedQuestions.add(question);
+        }
+
+        synchronized void end() {
+            ended = true;
+            if (prefetch != null) {
+                prefetch.cancel(true);
+                prefetch = null;
+            }
+        }
+    }
+}
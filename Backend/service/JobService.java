@@ -1,74 +1,187 @@
 // src/main/java/com/aicareercoach/service/JobService.java
 package com.aicareercoach.service;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.aicareercoach.dto.JobDto;
+import com.aicareercoach.dto.JobSearchResultDto;
+import com.aicareercoach.dto.JobSearchResultDto.SourceStatus;
+import com.aicareercoach.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 public class JobService {
 
-    @Value("${adzuna.app.id}")
-    private String appId;
+    @Autowired
+    private AdzunaJobSource adzunaJobSource;
+
+    @Autowired
+    private RemotiveJobSource remotiveJobSource;
+
+    // every JobSource bean, in @Order
+    @Autowired
+    private List<JobSource> jobSources;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private DependencyGuard dependencyGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jobs.search.deadline-ms:3000}")
+    private long defaultDeadlineMs;
+
+    // single-board endpoints wait for their board like they always did, up to the HTTP read timeout
+    @Value("${jobs.legacy.deadline-ms:30000}")
+    private long legacyDeadlineMs;
 
-    @Value("${adzuna.app.key}")
-    private String appKey;
+    // last good result per source+query+location, served when a source is down
+    @Value("${jobs.fallback.max-entries:500}")
+    private int fallbackMaxEntries;
+
+    private final Map<String, List<JobDto>> lastGood = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<JobDto>> eldest) {
+            return size() > fallbackMaxEntries;
+        }
+    };
 
     public List<JobDto> getJobRecommendations(String query, String location) {
-        String apiUrl = String.format(
-            "https://api.adzuna.com/v1/api/jobs/in/search/1?app_id=%s&app_key=%s&q=%s&location0=%s",
-            appId, appKey, query, location);
-
-        // Use RestTemplate to fetch from Adzuna
-        RestTemplate restTemplate = new RestTemplate();
-        var response = restTemplate.getForObject(apiUrl, Map.class);
-
-        // Parse and map response to List<JobDto>
-        List<Map<String, Object>> results = (List<Map<String, Object>>) response.get("results");
-        return results.stream().map(job -> new JobDto(
-            (String) job.get("title"),
-            job.containsKey("company") ? ((Map<String, String>) job.get("company")).get("display_name") : "",
-            (String) job.get("location").toString(),
-            (String) job.get("description"),
-            (String) job.get("redirect_url")
-        )).collect(Collectors.toList());
+        return guarded(adzunaJobSource, query, location, legacyDeadlineMs)
+            .onErrorResume(e -> Mono.justOrEmpty(fallback(adzunaJobSource, query, location)).switchIfEmpty(Mono.error(e)))
+            .block();
     }
     
     public List<JobDto> getRemotiveJobs(String search) {
-        String url = "https://remotive.com/api/remote-jobs?search=" + URLEncoder.encode(search, StandardCharsets.UTF_8);
-        RestTemplate restTemplate = new RestTemplate();
-        Map response;
-
-        try {
-            response = restTemplate.getForObject(url, Map.class);
-        } catch (Exception e) {
-            // Log the error (optionally use a logger in real apps)
-            System.out.println("❗ Remotive API fetch error: " + e.getMessage());
-            throw new RuntimeException("Failed to connect to Remotive API. Please try again.");
+        return guarded(remotiveJobSource, search, "", legacyDeadlineMs)
+            .onErrorResume(e -> Mono.justOrEmpty(fallback(remotiveJobSource, search, "")).switchIfEmpty(Mono.error(e)))
+            .block();
+    }
+
+    /*
+     * Queries every JobSource concurrently. Each source gets its own deadline
+     * (jobs.sources.<name>.deadline-ms, default jobs.search.deadline-ms); a source
+     * that is late or fails is reported in the result instead of failing the search,
+     * with its last good result for the same query if we have one (status "stale").
+     */
+    public Mono<JobSearchResultDto> searchAllSources(String query, String location) {
+        List<Mono<SourceResult>> calls = jobSources.stream().map(source -> {
+            long start = System.nanoTime();
+            return guarded(source, query, location, deadlineMs(source))
+                .map(jobs -> new SourceResult(source.getName(), jobs,
+                    new SourceStatus(SourceStatus.OK, jobs.size(), elapsedMs(start), null)))
+                .onErrorResume(e -> {
+                    List<JobDto> stale = fallback(source, query, location);
+                    if (stale != null) {
+                        return Mono.just(new SourceResult(source.getName(), stale,
+                            new SourceStatus(SourceStatus.STALE, stale.size(), elapsedMs(start), e.getMessage())));
+                    }
+                    SourceStatus status = e instanceof TimeoutException
+                        ? new SourceStatus(SourceStatus.TIMEOUT, 0, elapsedMs(start), null)
+                        : new SourceStatus(SourceStatus.ERROR, 0, elapsedMs(start), e.getMessage());
+                    return Mono.just(new SourceResult(source.getName(), List.of(), status));
+                });
+        }).toList();
+
+        // mergeSequential subscribes to all sources at once but keeps source order for de-duplication
+        return Flux.mergeSequential(calls)
+            .collectList()
+            .map(this::merge);
+    }
+
+    /*
+     * bulkhead + breaker per source; the deadline is inside, so a late source counts as a failure.
+     * Answers from a source's local copy skip the breaker, they say nothing about the board.
+     * Timer jobs.source.calls{source, outcome=success|local|timeout|busy|error|cancelled}.
+     */
+    private Mono<List<JobDto>> guarded(JobSource source, String query, String location, long deadlineMs) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            List<JobDto> local = source.searchLocal(query, location);
+            if (local != null) {
+                stop(sample, source, "local");
+                return Mono.just(local);
+            }
+            return dependencyGuard.call(source.getName(), () -> source.search(query, location)
+                    .timeout(Duration.ofMillis(deadlineMs)))
+                .doOnNext(jobs -> {
+                    synchronized (lastGood) {
+                        lastGood.put(fallbackKey(source, query, location), jobs);
+                    }
+                })
+                .doOnSuccess(jobs -> stop(sample, source, "success"))
+                .doOnError(e -> stop(sample, source, e instanceof TimeoutException ? "timeout"
+                        : e instanceof ServiceBusyException ? "busy" : "error"))
+                .doOnCancel(() -> stop(sample, source, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, JobSource source, String outcome) {
+        sample.stop(meterRegistry.timer("jobs.source.calls", "source", source.getName(), "outcome", outcome));
+    }
+
+    private List<JobDto> fallback(JobSource source, String query, String location) {
+        synchronized (lastGood) {
+            return lastGood.get(fallbackKey(source, query, location));
         }
+    }
+
+    private static String fallbackKey(JobSource source, String query, String location) {
+        return source.getName() + "|" + normalize(query) + "|" + normalize(location);
+    }
 
-        if (response == null || !response.containsKey("jobs")) {
-            System.out.println("❗ Remotive API response invalid or missing 'jobs': " + response);
-            throw new RuntimeException("Remotive API error: No jobs found or bad response.");
+    private JobSearchResultDto merge(List<SourceResult> results) {
+        Map<String, SourceStatus> statuses = new LinkedHashMap<>();
+        List<JobDto> merged = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (SourceResult result : results) {
+            statuses.put(result.source(), result.status());
+            for (JobDto job : result.jobs()) {
+                // same posting is often listed on several boards, first source wins
+                if (seen.add(dedupKey(job))) {
+                    merged.add(job);
+                }
+            }
         }
+        return new JobSearchResultDto(merged, statuses);
+    }
+
+    private String dedupKey(JobDto job) {
+        return normalize(job.getTitle()) + "|" + normalize(job.getCompany());
+    }
 
-        List<Map<String, Object>> jobs = (List<Map<String, Object>>) response.get("jobs");
-        return jobs.stream().map(job -> new JobDto(
-            (String) job.getOrDefault("title", ""),
-            (String) job.getOrDefault("company_name", ""),
-            (String) job.getOrDefault("candidate_required_location", ""),
-            (String) job.getOrDefault("description", ""),
-            (String) job.getOrDefault("url", "")
-        )).collect(Collectors.toList());
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").strip();
     }
 
+    private long deadlineMs(JobSource source) {
+        return environment.getProperty("jobs.sources." + source.getName() + ".deadline-ms", Long.class, defaultDeadlineMs);
+    }
 
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private record SourceResult(String source, List<JobDto> jobs, SourceStatus status) {
+    }
 }
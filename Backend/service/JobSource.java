@@ -0,0 +1,25 @@
+package com.aicareercoach.service;
+
+import java.util.List;
+
+import com.aicareercoach.dto.JobDto;
+
+import reactor.core.publisher.Mono;
+
+/*
+ * A job board that JobService can fan out to.
+ * Implementations are Spring beans, JobService picks up every one of them,
+ * so adding a board doesn't need any controller changes.
+ */
+public interface JobSource {
+
+    // short id used in responses and config keys (jobs.sources.<name>.deadline-ms)
+    String getName();
+
+    Mono<List<JobDto>> search(String query, String location);
+
+    // answer from an in-process copy, or null to call the board; never goes through the breaker
+    default List<JobDto> searchLocal(String query, String location) {
+        return null;
+    }
+}
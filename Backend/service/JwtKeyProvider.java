@@ -0,0 +1,143 @@
+package com.aicareercoach.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/*
+ * HS256 keyset shared by every backend node, so any node can verify any token.
+ * Tokens are signed with the current key and carry its id in the "kid" header;
+ * verification accepts every key in the set.
+ *
+ * Keys come from either
+ *   jwt.keys.file     properties file:  current=<kid>  and  key.<kid>=<base64 secret, >= 32 bytes>
+ *                     re-read every jwt.keys.reload-ms when it changes
+ *   jwt.keys.secrets  inline "kid1:base64,kid2:base64" with jwt.keys.current=<kid>
+ * With neither set, a random per-process key is used (single node only, tokens die on restart).
+ *
+ * Rotation without downtime:
+ *   1. add the new key to the set on all nodes (still signing with the old one)
+ *   2. switch "current" to the new kid
+ *   3. once the longest token lifetime (10h) has passed, remove the old key
+ */
+@Component
+public class JwtKeyProvider {
+
+    private static final String LOCAL_KID = "local";
+
+    private final String keysFile;
+    private volatile Keyset keyset;
+    private volatile long keysFileModified = -1;
+
+    public JwtKeyProvider(
+            @Value("${jwt.keys.file:}") String keysFile,
+            @Value("${jwt.keys.secrets:}") String secrets,
+            @Value("${jwt.keys.current:}") String currentKid) {
+        this.keysFile = keysFile;
+        if (!keysFile.isBlank()) {
+            this.keyset = loadFile(Path.of(keysFile));
+        } else if (!secrets.isBlank()) {
+            this.keyset = parseInline(secrets, currentKid);
+        } else {
+            System.out.println("⚠ No jwt.keys configured, using a random signing key (tokens are valid on this node only)");
+            SecretKey random = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            this.keyset = new Keyset(LOCAL_KID, Map.of(LOCAL_KID, random));
+        }
+    }
+
+    public String currentKeyId() {
+        return keyset.currentKid();
+    }
+
+    public SecretKey currentKey() {
+        Keyset current = keyset;
+        return current.keys().get(current.currentKid());
+    }
+
+    // null for unknown / retired key ids; tokens without a kid are checked against the current key
+    public SecretKey verificationKey(String kid) {
+        Keyset current = keyset;
+        return current.keys().get(kid == null ? current.currentKid() : kid);
+    }
+
+    public boolean isActive(String kid) {
+        return verificationKey(kid) != null;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-ms:60000}")
+    public void reload() {
+        if (keysFile.isBlank()) {
+            return;
+        }
+        try {
+            Path path = Path.of(keysFile);
+            if (Files.getLastModifiedTime(path).toMillis() == keysFileModified) {
+                return;
+            }
+            keyset = loadFile(path);
+            System.out.println("JWT keyset reloaded, current kid: " + keyset.currentKid() + ", keys: " + keyset.keys().keySet());
+        } catch (Exception e) {
+            // keep the keys we have
+            System.out.println("❗ JWT keyset reload failed: " + e.getMessage());
+        }
+    }
+
+    private Keyset loadFile(Path path) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            keysFileModified = Files.getLastModifiedTime(path).toMillis();
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT keyset " + path + ": " + e.getMessage(), e);
+        }
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("key.")) {
+                keys.put(name.substring(4), decode(properties.getProperty(name)));
+            }
+        }
+        return validate(properties.getProperty("current", ""), keys);
+    }
+
+    private Keyset parseInline(String secrets, String currentKid) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (String entry : secrets.split(",")) {
+            String[] parts = entry.strip().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalStateException("jwt.keys.secrets entries must be kid:base64secret");
+            }
+            keys.put(parts[0], decode(parts[1]));
+        }
+        return validate(currentKid, keys);
+    }
+
+    private static Keyset validate(String currentKid, Map<String, SecretKey> keys) {
+        if (!keys.containsKey(currentKid)) {
+            throw new IllegalStateException("JWT current key id '" + currentKid + "' is not in the keyset " + keys.keySet());
+        }
+        return new Keyset(currentKid, Map.copyOf(keys));
+    }
+
+    private static SecretKey decode(String base64) {
+        // hmacShaKeyFor rejects secrets shorter than 256 bits
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(base64.strip()));
+    }
+
+    private record Keyset(String currentKid, Map<String, SecretKey> keys) {
+    }
+}
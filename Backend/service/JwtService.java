@@ -1,58 +1,159 @@
 package com.aicareercoach.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.crypto.SecretKey;
-
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.aicareercoach.model.User;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class JwtService {
 
-    // Generate a secure random key for HS256
-    private final SecretKey secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    // shared keyset, signs with the current kid and verifies with any active one
+    private final JwtKeyProvider keyProvider;
+
+    // JwtParser is immutable and thread safe, build it once; the key is picked per token by kid
+    private final JwtParser parser;
+
+    // SHA-256(token) -> claims of tokens that already passed signature verification
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private final int verifiedCacheSize;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public JwtService(@Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheSize, JwtKeyProvider keyProvider,
+            MeterRegistry meterRegistry) {
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.keyProvider = keyProvider;
+        this.meterRegistry = meterRegistry;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyProvider.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown JWT key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(User user) {
+        String kid = keyProvider.currentKeyId();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
                 .setSubject(user.getEmail())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours expiry
-                .signWith(secretKey)
+                .signWith(keyProvider.verificationKey(kid))
                 .compact();
     }
 
+    /*
+     * Verifies the token once and returns its claims; the filter works on these
+     * instead of re-parsing. Recently verified tokens are served from a small
+     * digest -> claims cache until they expire.
+     * Throws JwtException if the token is invalid or expired.
+     * Timer auth.jwt.verify{outcome=cached|verified|expired|invalid}.
+     */
+    public Claims parseToken(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            String digest = digest(token);
+            VerifiedToken cached = verifiedTokens.get(digest);
+            // a token signed with a key that has since been retired must be re-verified (and fail)
+            if (cached != null && keyProvider.isActive(cached.kid())) {
+                if (!isExpired(cached.claims())) {
+                    outcome = "cached";
+                    return cached.claims();
+                }
+                verifiedTokens.remove(digest);
+                outcome = "expired";
+                throw new ExpiredJwtException(null, cached.claims(), "JWT expired at " + cached.claims().getExpiration());
+            }
+
+            Jws<Claims> jws;
+            try {
+                jws = parser.parseClaimsJws(token);
+            } catch (ExpiredJwtException e) {
+                outcome = "expired";
+                throw e;
+            }
+            Claims claims = jws.getBody();
+            if (verifiedCacheSize > 0) {
+                if (verifiedTokens.size() >= verifiedCacheSize) {
+                    evict();
+                }
+                verifiedTokens.put(digest, new VerifiedToken(claims, jws.getHeader().getKeyId()));
+            }
+            outcome = "verified";
+            return claims;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.jwt.verify", "outcome", outcome));
+        }
+    }
 
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(secretKey)
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .getSubject();
+        return parseToken(token).getSubject();
     }
     
     public boolean validateToken(String token, User user) {
-        final String email = extractEmail(token);
-        return (email.equals(user.getEmail()) && !isTokenExpired(token));
+        return isValid(parseToken(token), user);
+    }
+
+    public boolean isValid(Claims claims, User user) {
+        return claims.getSubject().equals(user.getEmail()) && !isExpired(claims);
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private void evict() {
+        verifiedTokens.values().removeIf(v -> isExpired(v.claims()));
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= verifiedCacheSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    private Date extractExpiration(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+    private record VerifiedToken(Claims claims, String kid) {
     }
 
 }
@@ -0,0 +1,110 @@
+package com.aicareercoach.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Wait queue used by AdaptiveConcurrencyLimiter once a provider is at its limit.
+ *
+ *  - between classes: smooth weighted round robin, e.g. weights 8:1 start 8 interactive
+ *    calls for every batch call while both are waiting, and never starve either
+ *  - within a class: round robin across users, so one user's burst of 50 calls waits
+ *    behind everyone else's next call instead of in front of it
+ *
+ * Not thread-safe, the limiter holds its lock around every call.
+ */
+class LlmDispatchQueue<T> {
+
+    private final Map<LlmPriority, Integer> weights;
+    private final Map<LlmPriority, Integer> currentWeights = new EnumMap<>(LlmPriority.class);
+    // per class: user -> that user's waiting calls, in round robin order
+    private final Map<LlmPriority, LinkedHashMap<String, Deque<T>>> classes = new EnumMap<>(LlmPriority.class);
+    private int size;
+
+    LlmDispatchQueue(Map<LlmPriority, Integer> weights) {
+        this.weights = weights;
+        for (LlmPriority priority : LlmPriority.values()) {
+            classes.put(priority, new LinkedHashMap<>());
+            currentWeights.put(priority, 0);
+        }
+    }
+
+    void add(LlmPriority priority, String user, T item) {
+        classes.get(priority).computeIfAbsent(user, u -> new ArrayDeque<>()).add(item);
+        size++;
+    }
+
+    boolean remove(LlmPriority priority, String user, T item) {
+        Deque<T> queue = classes.get(priority).get(user);
+        if (queue == null || !queue.remove(item)) {
+            return false;
+        }
+        if (queue.isEmpty()) {
+            classes.get(priority).remove(user);
+        }
+        size--;
+        return true;
+    }
+
+    T poll() {
+        LlmPriority picked = pickClass();
+        if (picked == null) {
+            return null;
+        }
+        LinkedHashMap<String, Deque<T>> users = classes.get(picked);
+        Iterator<Map.Entry<String, Deque<T>>> first = users.entrySet().iterator();
+        Map.Entry<String, Deque<T>> entry = first.next();
+        String user = entry.getKey();
+        Deque<T> queue = entry.getValue();
+        T item = queue.poll();
+        // move the user to the back of the rotation (or drop them if they have nothing left)
+        users.remove(user);
+        if (!queue.isEmpty()) {
+            users.put(user, queue);
+        }
+        size--;
+        return item;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size(LlmPriority priority) {
+        int count = 0;
+        for (Deque<T> queue : classes.get(priority).values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    private LlmPriority pickClass() {
+        LlmPriority best = null;
+        int total = 0;
+        for (LlmPriority priority : LlmPriority.values()) {
+            if (classes.get(priority).isEmpty()) {
+                // idle classes don't bank credit for later
+                currentWeights.put(priority, 0);
+                continue;
+            }
+            int weight = Math.max(1, weights.getOrDefault(priority, 1));
+            total += weight;
+            int current = currentWeights.merge(priority, weight, Integer::sum);
+            if (best == null || current > currentWeights.get(best)) {
+                best = priority;
+            }
+        }
+        if (best != null) {
+            currentWeights.merge(best, -total, Integer::sum);
+        }
+        return best;
+    }
+}
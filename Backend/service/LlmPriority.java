@@ -0,0 +1,15 @@
+package com.aicareercoach.service;
+
+/*
+ * Dispatch class of an LLM call. When a provider is at its concurrency limit, queued
+ * calls are picked by class weight (llm.dispatch.weights.<class>), so bulk work can't
+ * starve someone waiting on a chat turn, and bulk work still makes progress.
+ */
+public enum LlmPriority {
+
+    // a user is waiting on the response: chat, mock interview, advice
+    INTERACTIVE,
+
+    // long generations and background work: resumes, cover letters, documents, refills
+    BATCH
+}
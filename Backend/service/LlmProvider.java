@@ -0,0 +1,31 @@
+package com.aicareercoach.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * A text-generation backend that LlmRouter can send prompts to.
+ * Implementations are Spring beans, LlmRouter picks up every one of them.
+ *
+ * complete() must be lazy (nothing sent before subscribe) and cancellable: when a
+ * hedged request loses, the router cancels it and the HTTP exchange is aborted.
+ * Failures, including empty answers, are signalled as errors, not as reply text.
+ *
+ * maxTokens caps the length of the answer; LlmRouter picks it per endpoint so a
+ * hedged call gets the same room on either provider. Tokens a provider spends on
+ * reasoning before the answer must not count against it (see GeminiAIService).
+ */
+public interface LlmProvider {
+
+    // short id used in config keys (llm.router.primary=gemini) and metric tags
+    String getName();
+
+    String getModel();
+
+    Mono<String> complete(String prompt, int maxTokens);
+
+    // answer as text deltas; providers without a streaming API send it in one piece
+    default Flux<String> stream(String prompt, int maxTokens) {
+        return complete(prompt, maxTokens).flux();
+    }
+}
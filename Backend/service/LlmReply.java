@@ -0,0 +1,8 @@
+package com.aicareercoach.service;
+
+/*
+ * An LLM answer plus the provider that produced it. hedged is true when the
+ * secondary won the race, i.e. the answer is not from the requested primary.
+ */
+public record LlmReply(String text, String provider, String model, boolean hedged) {
+}
@@ -0,0 +1,269 @@
+package com.aicareercoach.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.aicareercoach.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/*
+ * Entry point for all LLM calls. A prompt goes to the primary provider; if that hasn't
+ * answered within the primary's recent llm.hedge.percentile latency (clamped to
+ * llm.hedge.min-delay-ms .. max-delay-ms), the same prompt is also sent to the
+ * secondary. The first answer wins and the other call is cancelled. A primary that
+ * fails outright triggers the secondary immediately instead of after the delay, which
+ * includes a fast failure from its open circuit breaker (see DependencyGuard).
+ * Each provider call is paced by AdaptiveConcurrencyLimiter (queueing, 429 backoff, retries).
+ *
+ * Identical prompts in flight are coalesced once here (see RequestCoalescer), not per
+ * provider, so cancelling a hedge loser really aborts its HTTP exchange.
+ *
+ * Every call names the endpoint it serves; its answer length is capped at
+ * llm.max-tokens.<endpoint> (else llm.max-tokens.default), whichever provider answers.
+ *
+ * Counter llm.router.requests{primary, winner}. Timer llm.calls{provider, outcome} per
+ * provider call (queueing and retries included), summaries llm.prompt.chars and
+ * llm.response.chars{provider}.
+ */
+@Service
+public class LlmRouter {
+
+    private final Map<String, LlmProvider> providers = new LinkedHashMap<>();
+    private final Map<String, LatencyWindow> latencies = new LinkedHashMap<>();
+
+    // long-form generations need more room than the default
+    private static final Map<String, Integer> DEFAULT_MAX_TOKENS = Map.of(
+            "generate-resume", 4096,
+            "generate-cover-letter", 2048,
+            "upload-analyze", 2048,
+            "generate-questions", 2048,
+            "chat", 2048,
+            "career-advice", 512);
+
+    private final RequestCoalescer requestCoalescer;
+    private final DependencyGuard dependencyGuard;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Value("${llm.router.primary:gemini}")
+    private String defaultPrimary;
+
+    @Value("${llm.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${llm.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${llm.hedge.min-delay-ms:500}")
+    private long minDelayMs;
+
+    @Value("${llm.hedge.max-delay-ms:10000}")
+    private long maxDelayMs;
+
+    // used until a provider has llm.hedge.min-samples latencies recorded
+    @Value("${llm.hedge.initial-delay-ms:3000}")
+    private long initialDelayMs;
+
+    @Value("${llm.hedge.min-samples:20}")
+    private int minSamples;
+
+    public LlmRouter(List<LlmProvider> providers,
+            @Value("${llm.hedge.window-size:256}") int windowSize,
+            RequestCoalescer requestCoalescer, DependencyGuard dependencyGuard,
+            AdaptiveConcurrencyLimiter concurrencyLimiter, MeterRegistry meterRegistry, Environment environment) {
+        for (LlmProvider provider : providers) {
+            this.providers.put(provider.getName(), provider);
+            this.latencies.put(provider.getName(), new LatencyWindow(windowSize));
+        }
+        this.requestCoalescer = requestCoalescer;
+        this.dependencyGuard = dependencyGuard;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    // user is taken from the security context of the calling thread
+    public String generate(String endpoint, String prompt, LlmPriority priority) throws Exception {
+        return generate(endpoint, prompt, priority, currentUser());
+    }
+
+    // for background work, where the calling thread has no security context
+    public String generate(String endpoint, String prompt, LlmPriority priority, String user) throws Exception {
+        return reply(defaultPrimary, endpoint, prompt, priority, user).map(LlmReply::text).block();
+    }
+
+    // like generate(), but says which provider answered, e.g. so callers only cache the primary's answers
+    public LlmReply generateReply(String endpoint, String prompt, LlmPriority priority) throws Exception {
+        return generateReply(endpoint, prompt, priority, currentUser());
+    }
+
+    public LlmReply generateReply(String endpoint, String prompt, LlmPriority priority, String user) throws Exception {
+        return reply(defaultPrimary, endpoint, prompt, priority, user).block();
+    }
+
+    public Mono<String> generateAsync(String primaryName, String endpoint, String prompt, LlmPriority priority) {
+        return reply(primaryName, endpoint, prompt, priority, currentUser()).map(LlmReply::text);
+    }
+
+    // primary is a provider name; the secondary is the first other provider
+    private Mono<LlmReply> reply(String primaryName, String endpoint, String prompt, LlmPriority priority, String user) {
+        LlmProvider primary = providers.get(primaryName);
+        if (primary == null) {
+            return Mono.error(new IllegalStateException("Unknown LLM provider: " + primaryName));
+        }
+        LlmProvider secondary = providers.values().stream()
+                .filter(p -> p != primary)
+                .findFirst()
+                .orElse(null);
+        int maxTokens = maxTokens(endpoint);
+        return requestCoalescer.executeAsync("router", primary.getName() + ":" + primary.getModel() + ":" + maxTokens, prompt,
+                () -> hedged(primary, secondary, prompt, maxTokens, priority, user));
+    }
+
+    /*
+     * Streaming answer from the default primary, through the same limiter queue, breaker
+     * and bulkhead as generate(). Not hedged or coalesced: chunks go to the client as
+     * they arrive, so there is no taking them back.
+     */
+    public Flux<String> stream(String endpoint, String prompt, LlmPriority priority) {
+        LlmProvider provider = providers.get(defaultPrimary);
+        String name = provider.getName();
+        String user = currentUser();
+        int maxTokens = maxTokens(endpoint);
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            meterRegistry.summary("llm.prompt.chars", "provider", name).record(prompt.length());
+            AtomicLong chars = new AtomicLong();
+            return concurrencyLimiter.stream(name, priority, user,
+                            () -> dependencyGuard.stream(name, () -> provider.stream(prompt, maxTokens)))
+                    .doOnNext(chunk -> chars.addAndGet(chunk.length()))
+                    .doOnComplete(() -> {
+                        meterRegistry.summary("llm.response.chars", "provider", name).record(chars.get());
+                        stop(sample, name, "success");
+                    })
+                    .doOnError(e -> stop(sample, name, e instanceof ServiceBusyException ? "busy" : "error"))
+                    .doOnCancel(() -> stop(sample, name, "cancelled"));
+        });
+    }
+
+    // model of the default primary, i.e. the one most answers come from
+    public String primaryModel() {
+        return providers.get(defaultPrimary).getModel();
+    }
+
+    int maxTokens(String endpoint) {
+        int fallback = environment.getProperty("llm.max-tokens.default", Integer.class, 1024);
+        return environment.getProperty("llm.max-tokens." + endpoint, Integer.class,
+                DEFAULT_MAX_TOKENS.getOrDefault(endpoint, fallback));
+    }
+
+    private Mono<LlmReply> hedged(LlmProvider primary, LlmProvider secondary, String prompt, int maxTokens,
+            LlmPriority priority, String user) {
+        Mono<LlmReply> first = timed(primary, prompt, maxTokens, priority, user)
+                .map(text -> new LlmReply(text, primary.getName(), primary.getModel(), false));
+        if (!hedgeEnabled || secondary == null) {
+            return first.doOnNext(r -> count(primary, primary));
+        }
+        Sinks.Empty<Void> primaryFailed = Sinks.empty();
+        first = first
+                .doOnError(e -> primaryFailed.tryEmitEmpty())
+                .doOnNext(r -> count(primary, primary));
+        Mono<LlmReply> hedge = Mono.firstWithSignal(Mono.delay(hedgeDelay(primary)).then(), primaryFailed.asMono())
+                .then(Mono.defer(() -> timed(secondary, prompt, maxTokens, priority, user)))
+                .map(text -> new LlmReply(text, secondary.getName(), secondary.getModel(), true))
+                .doOnNext(r -> count(primary, secondary));
+
+        // firstWithValue cancels whichever source hasn't produced a value yet
+        return Mono.firstWithValue(first, hedge)
+                .onErrorMap(NoSuchElementException.class, e -> e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e);
+    }
+
+    private Mono<String> timed(LlmProvider provider, String prompt, int maxTokens, LlmPriority priority, String user) {
+        return Mono.defer(() -> {
+            String name = provider.getName();
+            LatencyWindow window = latencies.get(name);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            meterRegistry.summary("llm.prompt.chars", "provider", name).record(prompt.length());
+            // limiter queues/retries, each attempt then goes through the breaker + bulkhead
+            return concurrencyLimiter.run(name, priority, user, () -> {
+                        // the hedge delay is about provider latency, so time only the attempt itself
+                        long start = System.nanoTime();
+                        return dependencyGuard.call(name, () -> provider.complete(prompt, maxTokens))
+                                .doOnNext(r -> window.record((System.nanoTime() - start) / 1_000_000))
+                                // a cancelled hedge loser took at least this long; dropping slow losers would skew
+                                // the window fast, firing the hedge ever earlier until every prompt goes to both
+                                .doOnCancel(() -> window.record((System.nanoTime() - start) / 1_000_000));
+                    })
+                    .doOnNext(r -> meterRegistry.summary("llm.response.chars", "provider", name).record(r.length()))
+                    .doOnSuccess(r -> stop(sample, name, r == null ? "empty" : "success"))
+                    .doOnError(e -> stop(sample, name, e instanceof ServiceBusyException ? "busy" : "error"))
+                    // a hedge loser or a client that went away
+                    .doOnCancel(() -> stop(sample, name, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String provider, String outcome) {
+        sample.stop(meterRegistry.timer("llm.calls", "provider", provider, "outcome", outcome));
+    }
+
+    Duration hedgeDelay(LlmProvider provider) {
+        long delay = latencies.get(provider.getName()).percentile(hedgePercentile, minSamples);
+        if (delay < 0) {
+            delay = initialDelayMs;
+        }
+        return Duration.ofMillis(Math.max(minDelayMs, Math.min(maxDelayMs, delay)));
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private void count(LlmProvider primary, LlmProvider winner) {
+        meterRegistry.counter("llm.router.requests", "primary", primary.getName(), "winner", winner.getName()).increment();
+    }
+
+    // last N latencies (successes, and lower bounds for cancelled calls) in a ring buffer; small enough to sort on demand
+    static class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        // -1 until minSamples have been recorded
+        synchronized long percentile(double p, int minSamples) {
+            if (count < Math.max(1, minSamples)) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(p * count) - 1)];
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.aicareercoach.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.aicareercoach.exception.ServiceBusyException;
+import com.aicareercoach.model.User;
+import com.aicareercoach.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * All BCrypt work runs on a small bounded pool, so a login storm can use at most
+ * auth.hashing.threads cores and the AI endpoints keep the rest.
+ * When auth.hashing.queue-capacity requests are already waiting, new ones fail
+ * fast with 503 + Retry-After instead of queueing forever.
+ *
+ * Metrics: auth.password.hash{op} timer, auth.password.queue.depth gauge,
+ * auth.password.rejected counter.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            UserRepository userRepository,
+            @Value("${auth.bcrypt.strength:10}") int strength,
+            @Value("${auth.hashing.threads:#{T(java.lang.Math).max(1, T(java.lang.Runtime).getRuntime().availableProcessors() / 2)}}") int threads,
+            @Value("${auth.hashing.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.strength = strength;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("op", "matches").publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode").publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+        this.rejected = meterRegistry.counter("auth.password.rejected");
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /*
+     * Called after a successful login: if the stored hash was made with a different
+     * cost than auth.bcrypt.strength, store a new hash. Runs in the background and is
+     * simply skipped when the pool is busy, the next login will try again.
+     */
+    public void rehashIfNeeded(User user, String rawPassword) {
+        if (storedCost(user.getPassword()) == strength) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    user.setPassword(encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+                    userRepository.save(user);
+                } catch (Exception e) {
+                    System.out.println("❗ Password rehash failed for user " + user.getId() + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // busy, try again on a later login
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Authentication service is busy, please retry shortly.", 1);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        }
+    }
+
+    // "$2a$10$..." -> 10, -1 if it isn't a BCrypt hash
+    static int storedCost(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encoded.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,198 @@
+package com.aicareercoach.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/*
+ * In-memory bank of parsed, de-duplicated interview questions per (role, skills) bucket.
+ *
+ * Requests are served by sampling the bucket. A bucket that is unknown or too small
+ * for the request falls back to one live LLM call, whose questions then seed it.
+ * A background job tops buckets up to questions.bank.target-size, starting with the
+ * questions.bank.seeds combinations ("Role:skill,skill;Role:skill") so the common
+ * ones are ready before the first request. Other buckets are only topped up while
+ * they were requested within questions.bank.active-window-ms, so a one-off
+ * combination costs one live call and nothing after. Seeds are never evicted.
+ */
+@Service
+public class QuestionBankService {
+
+    private static final Pattern LIST_MARKER = Pattern.compile("^\\s*(?:[-*•]+|\\d+[.)]|q\\d+[.:)])\\s*", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private LlmRouter llmRouter;
+
+    @Value("${questions.bank.target-size:50}")
+    private int targetSize;
+
+    @Value("${questions.bank.batch-size:20}")
+    private int batchSize;
+
+    @Value("${questions.bank.max-buckets:200}")
+    private int maxBuckets;
+
+    @Value("${questions.bank.seeds:}")
+    private String seeds;
+
+    @Value("${questions.bank.active-window-ms:3600000}")
+    private long activeWindowMs;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public List<String> questions(String role, String skills, int num) throws Exception {
+        String key = key(role, skills);
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.lastRequested = System.currentTimeMillis();
+            List<String> bank = bucket.questions;
+            if (bank.size() >= num) {
+                return sample(bank, num);
+            }
+        }
+        List<String> generated = generate(role, skills, num, bucket == null ? List.of() : bucket.questions, LlmPriority.INTERACTIVE);
+        seed(key, role, skills, generated);
+        return generated.size() > num ? generated.subList(0, num) : generated;
+    }
+
+    /*
+     * Tops up seeded and recently requested buckets below target, one LLM call at a time
+     * so refilling never floods the provider. Runs on questionBankExecutor, the scheduler
+     * thread only hands it off.
+     */
+    @Async("questionBankExecutor")
+    @Scheduled(initialDelayString = "${questions.bank.initial-delay-ms:30000}", fixedDelayString = "${questions.bank.refresh-ms:600000}")
+    public void refill() {
+        if (!seeds.isBlank()) {
+            for (String seed : seeds.split(";")) {
+                String[] parts = seed.split(":", 2);
+                String role = parts[0].strip();
+                String skills = parts.length > 1 ? parts[1].strip() : "";
+                if (!role.isEmpty()) {
+                    buckets.computeIfAbsent(key(role, skills), k -> new Bucket(role, skills)).seeded = true;
+                }
+            }
+        }
+        long activeSince = System.currentTimeMillis() - activeWindowMs;
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (bucket.questions.size() >= targetSize || (!bucket.seeded && bucket.lastRequested < activeSince)) {
+                continue;
+            }
+            try {
+                seed(entry.getKey(), bucket.role, bucket.skills, generate(bucket.role, bucket.skills, batchSize, bucket.questions, LlmPriority.BATCH));
+            } catch (Exception e) {
+                System.out.println("❗ Question bank refill failed for " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // interactive: a request is waiting on it; batch: background refill (no security context, runs as "system")
+    private List<String> generate(String role, String skills, int num, List<String> existing, LlmPriority priority) throws Exception {
+        StringBuilder prompt = new StringBuilder(String.format(
+                "Generate %d interview questions for a %s skilled in %s. Return one concise question per line, no numbering, no other text.",
+                num, role, skills));
+        if (!existing.isEmpty()) {
+            // keep the prompt small: only a sample of what we already have
+            prompt.append("\nDo not repeat any of these:\n");
+            for (String question : sample(existing, Math.min(existing.size(), 30))) {
+                prompt.append(question).append("\n");
+            }
+        }
+        return parse(priority == LlmPriority.BATCH
+                ? llmRouter.generate("generate-questions", prompt.toString(), priority, "system")
+                : llmRouter.generate("generate-questions", prompt.toString(), priority));
+    }
+
+    private void seed(String key, String role, String skills, List<String> generated) {
+        if (generated.isEmpty()) {
+            return;
+        }
+        if (!buckets.containsKey(key) && buckets.size() >= maxBuckets) {
+            evictLeastRecentlyRequested();
+        }
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(role, skills));
+        synchronized (bucket) {
+            bucket.questions = merge(bucket.questions, generated);
+        }
+    }
+
+    private void evictLeastRecentlyRequested() {
+        buckets.entrySet().stream()
+                .filter(e -> !e.getValue().seeded)
+                .min((a, b) -> Long.compare(a.getValue().lastRequested, b.getValue().lastRequested))
+                .ifPresent(e -> buckets.remove(e.getKey()));
+    }
+
+    // copy-on-write so readers sample a stable list without locking
+    private static List<String> merge(List<String> bank, List<String> generated) {
+        Map<String, String> byNormalized = new LinkedHashMap<>();
+        for (String question : bank) {
+            byNormalized.putIfAbsent(normalize(question), question);
+        }
+        for (String question : generated) {
+            byNormalized.putIfAbsent(normalize(question), question);
+        }
+        return List.copyOf(byNormalized.values());
+    }
+
+    static List<String> parse(String response) {
+        Map<String, String> questions = new LinkedHashMap<>();
+        for (String line : response.split("\n")) {
+            String question = LIST_MARKER.matcher(line).replaceFirst("").replace("**", "").strip();
+            // skip preambles like "Here are 5 questions:" and empty lines
+            if (question.length() < 10 || question.endsWith(":")) {
+                continue;
+            }
+            questions.putIfAbsent(normalize(question), question);
+        }
+        return new ArrayList<>(questions.values());
+    }
+
+    private static List<String> sample(List<String> bank, int num) {
+        List<String> copy = new ArrayList<>(bank);
+        Collections.shuffle(copy, ThreadLocalRandom.current());
+        return copy.subList(0, num);
+    }
+
+    static String key(String role, String skills) {
+        TreeSet<String> skillSet = new TreeSet<>();
+        for (String skill : skills.split(",")) {
+            if (!skill.isBlank()) {
+                skillSet.add(skill.strip().toLowerCase(Locale.ROOT));
+            }
+        }
+        return role.strip().toLowerCase(Locale.ROOT) + "|" + String.join(",", skillSet);
+    }
+
+    private static String normalize(String question) {
+        return question.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").strip();
+    }
+
+    private static class Bucket {
+        private final String role;
+        private final String skills;
+        private volatile List<String> questions = List.of();
+        private volatile long lastRequested = System.currentTimeMillis();
+        // from questions.bank.seeds: always refilled, never evicted
+        private volatile boolean seeded;
+
+        Bucket(String role, String skills) {
+            this.role = role;
+            this.skills = skills;
+        }
+    }
+}
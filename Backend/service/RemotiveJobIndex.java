@@ -0,0 +1,221 @@
+package com.aicareercoach.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.aicareercoach.dto.JobDto;
+
+/*
+ * In-process copy of the Remotive feed, so /api/careers/jobs/remotive doesn't
+ * download the whole feed on every search.
+ *
+ * A background refresh pulls the feed every jobs.remotive.index.refresh-ms and
+ * builds a new immutable Snapshot: title/company/tags/location tokens -> sorted
+ * int[] postings. Jobs whose id and publication date are unchanged reuse the
+ * already cleaned JobDto and tokens from the previous snapshot, so only new or
+ * edited jobs are re-processed. The snapshot is swapped in with one reference
+ * write, readers never lock.
+ */
+@Component
+public class RemotiveJobIndex {
+
+    private static final String FEED_URL = "https://remotive.com/api/remote-jobs";
+
+    // shared pooled client, see HttpClientConfig
+    @Autowired
+    private WebClient webClient;
+
+    @Value("${jobs.remotive.index.enabled:true}")
+    private boolean enabled;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    public boolean isReady() {
+        return enabled && snapshot.get() != Snapshot.EMPTY;
+    }
+
+    public int size() {
+        return snapshot.get().docs.length;
+    }
+
+    // All query tokens must match (AND). Results keep feed order, which is newest first.
+    public List<JobDto> search(String query) {
+        Snapshot current = snapshot.get();
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            List<JobDto> all = new ArrayList<>(current.docs.length);
+            for (Doc doc : current.docs) {
+                all.add(doc.job);
+            }
+            return all;
+        }
+
+        int[] matches = null;
+        for (String token : tokens) {
+            int[] postings = current.postings.get(token);
+            if (postings == null) {
+                return List.of();
+            }
+            matches = matches == null ? postings : intersect(matches, postings);
+            if (matches.length == 0) {
+                return List.of();
+            }
+        }
+
+        List<JobDto> result = new ArrayList<>(matches.length);
+        for (int docId : matches) {
+            result.add(current.docs[docId].job);
+        }
+        return result;
+    }
+
+    @Scheduled(initialDelayString = "${jobs.remotive.index.initial-delay-ms:0}",
+            fixedDelayString = "${jobs.remotive.index.refresh-ms:3600000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Map<?, ?> response = webClient.get()
+                    .uri(FEED_URL)
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+            if (response == null || !(response.get("jobs") instanceof List<?> jobs)) {
+                System.out.println("❗ Remotive index refresh: response missing 'jobs'");
+                return;
+            }
+            Snapshot next = build(jobs, snapshot.get());
+            snapshot.set(next);
+            System.out.println("Remotive index refreshed: " + next.docs.length + " jobs, " + next.postings.size() + " terms");
+        } catch (Exception e) {
+            // keep serving the previous snapshot
+            System.out.println("❗ Remotive index refresh failed: " + e.getMessage());
+        }
+    }
+
+    private Snapshot build(List<?> jobs, Snapshot previous) {
+        List<Doc> docs = new ArrayList<>(jobs.size());
+        Set<Object> seenIds = new LinkedHashSet<>();
+        for (Object item : jobs) {
+            if (!(item instanceof Map<?, ?> job)) {
+                continue;
+            }
+            Object id = job.get("id");
+            if (id != null && !seenIds.add(id)) {
+                continue;
+            }
+            String version = String.valueOf(job.get("publication_date"));
+            Doc existing = id == null ? null : previous.byId.get(id);
+            docs.add(existing != null && existing.version.equals(version) ? existing : toDoc(id, version, job));
+        }
+
+        Map<String, IntList> building = new HashMap<>();
+        Map<Object, Doc> byId = new HashMap<>();
+        for (int docId = 0; docId < docs.size(); docId++) {
+            Doc doc = docs.get(docId);
+            if (doc.id != null) {
+                byId.put(doc.id, doc);
+            }
+            for (String token : doc.tokens) {
+                building.computeIfAbsent(token, t -> new IntList()).add(docId);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((token, list) -> postings.put(token, list.toArray()));
+
+        return new Snapshot(docs.toArray(new Doc[0]), postings, byId);
+    }
+
+    private Doc toDoc(Object id, String version, Map<?, ?> job) {
+        String title = string(job.get("title"));
+        String company = string(job.get("company_name"));
+        String location = string(job.get("candidate_required_location"));
+        StringBuilder indexed = new StringBuilder(title).append(' ').append(company).append(' ').append(location);
+        if (job.get("tags") instanceof List<?> tags) {
+            for (Object tag : tags) {
+                indexed.append(' ').append(string(tag));
+            }
+        }
+        // the frontend strips tags anyway, storing plain text keeps the index small
+        String description = string(job.get("description"))
+                .replaceAll("<[^>]+>", " ")
+                .replaceAll("\\s+", " ")
+                .strip();
+
+        JobDto dto = new JobDto(title, company, location, description, string(job.get("url")));
+        return new Doc(id, version, dto, new LinkedHashSet<>(tokenize(indexed.toString())).toArray(new String[0]));
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        // keep + and # so c++ / c# stay searchable
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                out[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private record Doc(Object id, String version, JobDto job, String[] tokens) {
+    }
+
+    private record Snapshot(Doc[] docs, Map<String, int[]> postings, Map<Object, Doc> byId) {
+        static final Snapshot EMPTY = new Snapshot(new Doc[0], Map.of(), Map.of());
+    }
+
+    // growable int[] so postings don't box every doc id
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
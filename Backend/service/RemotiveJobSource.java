@@ -0,0 +1,75 @@
+package com.aicareercoach.service;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.aicareercoach.dto.JobDto;
+
+import reactor.core.publisher.Mono;
+
+@Component
+@Order(2)
+public class RemotiveJobSource implements JobSource {
+
+    // shared pooled client, see HttpClientConfig
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private RemotiveJobIndex remotiveJobIndex;
+
+    @Override
+    public String getName() {
+        return "remotive";
+    }
+
+    // served from the background-refreshed index once it has loaded
+    @Override
+    public List<JobDto> searchLocal(String query, String location) {
+        return remotiveJobIndex.isReady() ? remotiveJobIndex.search(query) : null;
+    }
+
+    // Remotive is remote-only, location is ignored
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<List<JobDto>> search(String query, String location) {
+        URI uri = UriComponentsBuilder.fromUriString("https://remotive.com/api/remote-jobs")
+            .queryParam("search", query)
+            .encode()
+            .build()
+            .toUri();
+
+        return webClient.get()
+            .uri(uri)
+            .retrieve()
+            .bodyToMono(Map.class)
+            .onErrorMap(e -> {
+                // Log the error (optionally use a logger in real apps)
+                System.out.println("❗ Remotive API fetch error: " + e.getMessage());
+                return new RuntimeException("Failed to connect to Remotive API. Please try again.");
+            })
+            .defaultIfEmpty(Map.of())
+            .map(response -> {
+                if (!response.containsKey("jobs")) {
+                    System.out.println("❗ Remotive API response invalid or missing 'jobs': " + response);
+                    throw new RuntimeException("Remotive API error: No jobs found or bad response.");
+                }
+                List<Map<String, Object>> jobs = (List<Map<String, Object>>) response.get("jobs");
+                return jobs.stream().map(job -> new JobDto(
+                    (String) job.getOrDefault("title", ""),
+                    (String) job.getOrDefault("company_name", ""),
+                    (String) job.getOrDefault("candidate_required_location", ""),
+                    (String) job.getOrDefault("description", ""),
+                    (String) job.getOrDefault("url", "")
+                )).collect(Collectors.toList());
+            });
+    }
+}
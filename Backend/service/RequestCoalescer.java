@@ -0,0 +1,82 @@
+package com.aicareercoach.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/*
+ * Single-flight for LLM calls: while a prompt is in flight to a provider, identical
+ * prompts wait for that call instead of sending their own, and everyone gets the
+ * same result (or the same failure).
+ * A waiter that has waited ai.coalescing.max-wait-ms gives up and calls upstream itself.
+ *
+ * Counter ai.coalescing.requests{provider, result=leader|collapsed|timeout}.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final long maxWaitMs;
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(
+            @Value("${ai.coalescing.enabled:true}") boolean enabled,
+            @Value("${ai.coalescing.max-wait-ms:30000}") long maxWaitMs,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWaitMs = maxWaitMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // callers must use one result type per provider namespace, the futures are shared by key
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeAsync(String provider, String model, String prompt, Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            String key = provider + ":" + AIResponseCache.key(model, prompt);
+            CompletableFuture<T> mine = new CompletableFuture<>();
+            CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, mine);
+
+            if (existing == null) {
+                count(provider, "leader");
+                mine.whenComplete((result, error) -> inFlight.remove(key, mine));
+                // subscribed independently of the leader's own subscriber, so a
+                // cancelled leader doesn't cancel the call for everyone else
+                call.get().toFuture().whenComplete((result, error) -> {
+                    if (error != null) {
+                        mine.completeExceptionally(error);
+                    } else {
+                        mine.complete(result);
+                    }
+                });
+                return Mono.fromFuture(mine, true);
+            }
+
+            return Mono.fromFuture(existing, true)
+                    .doOnEach(signal -> {
+                        if (signal.isOnNext() || signal.isOnError()) {
+                            count(provider, "collapsed");
+                        }
+                    })
+                    .timeout(Duration.ofMillis(maxWaitMs), Mono.defer(() -> {
+                        count(provider, "timeout");
+                        return call.get();
+                    }));
+        });
+    }
+
+    private void count(String provider, String result) {
+        meterRegistry.counter("ai.coalescing.requests", "provider", provider, "result", result).increment();
+    }
+}
@@ -0,0 +1,105 @@
+package com.aicareercoach.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Concurrent-request capacity benchmark for the platform vs virtual thread profiles.
+ *
+ * Runs the same load at increasing concurrency levels and prints throughput,
+ * latency percentiles and error counts. Run it once against each profile:
+ *
+ *   mvn spring-boot:run                                                   (platform threads)
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=virtual-threads        (virtual threads)
+ *   (the profile sets spring.threads.virtual.enabled=true, see application-virtual-threads.properties)
+ *
+ *   java src/test/java/com/aicareercoach/bench/ConcurrencyBench.java <url> [token] [levels] [requestsPerLevel]
+ *   java src/test/java/com/aicareercoach/bench/ConcurrencyBench.java http://localhost:8080/api/careers/jobs/remotive?search=java "" 50,200,400,800 2000
+ *
+ * Use an endpoint that blocks on I/O (an upstream call or the DB). With the
+ * default 200 Tomcat threads the platform run flattens out around 200
+ * concurrent requests while the virtual-thread run keeps scaling until the
+ * upstream or the connection pool becomes the limit.
+ */
+public class ConcurrencyBench {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("usage: java src/test/java/com/aicareercoach/bench/ConcurrencyBench.java <url> [token] [levels] [requestsPerLevel]");
+            return;
+        }
+        String url = args[0];
+        String token = args.length > 1 ? args[1] : "";
+        String levels = args.length > 2 ? args[2] : "50,100,200,400,800";
+        int requestsPerLevel = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("%-12s %-10s %-10s %-10s %-10s %-8s%n", "concurrency", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+        for (String level : levels.split(",")) {
+            runLevel(client, url, token, Integer.parseInt(level.trim()), requestsPerLevel);
+        }
+    }
+
+    private static void runLevel(HttpClient client, String url, String token, int concurrency, int total)
+            throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET();
+        if (!token.isEmpty()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        AtomicInteger remaining = new AtomicInteger(total);
+        AtomicInteger errors = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(total));
+
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add((System.nanoTime() - t0) / 1_000_000);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%-12d %-10.1f %-10d %-10d %-10d %-8d%n", concurrency, sorted.size() / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.get(sorted.size() - 1), errors.get());
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
@@ -0,0 +1,108 @@
+package com.aicareercoach.bench;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aicareercoach.model.User;
+import com.aicareercoach.service.JwtKeyProvider;
+import com.aicareercoach.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Per-request JWT auth cost, before and after the single-parse JwtService.
+ *
+ *   before      - what the filter used to do: build a parser and verify 3 times
+ *                 (extractEmail, validateToken -> extractEmail, extractExpiration)
+ *   singleParse - one verification with the prebuilt parser, verified cache disabled
+ *   cachedClaims - token already verified, claims come from the digest cache
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=JwtAuthBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private User user;
+
+    private SecretKey legacyKey;
+    private String legacyToken;
+
+    private JwtService uncachedService;
+    private String uncachedToken;
+
+    private JwtService cachedService;
+    private String cachedToken;
+
+    @Setup
+    public void setup() {
+        user = new User();
+        user.setEmail("bench@example.com");
+
+        legacyKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        legacyToken = Jwts.builder()
+                .setSubject(user.getEmail())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+                .signWith(legacyKey)
+                .compact();
+
+        JwtKeyProvider keyProvider = new JwtKeyProvider("", "", "");
+
+        uncachedService = new JwtService(0, keyProvider, new SimpleMeterRegistry());
+        uncachedToken = uncachedService.generateToken(user);
+
+        cachedService = new JwtService(10000, keyProvider, new SimpleMeterRegistry());
+        cachedToken = cachedService.generateToken(user);
+        cachedService.parseToken(cachedToken);
+    }
+
+    @Benchmark
+    public boolean before() {
+        String email = legacyParse(legacyToken).getSubject();
+        String emailAgain = legacyParse(legacyToken).getSubject();
+        Date expiration = legacyParse(legacyToken).getExpiration();
+        return email != null && emailAgain.equals(user.getEmail()) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = uncachedService.parseToken(uncachedToken);
+        return uncachedService.isValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean cachedClaims() {
+        Claims claims = cachedService.parseToken(cachedToken);
+        return cachedService.isValid(claims, user);
+    }
+
+    private Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(legacyKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,134 @@
+package com.aicareercoach.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenBucketRateLimiterTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+
+    private TokenBucketRateLimiter limiter(int capacity, int refillPerMinute) {
+        environment.setProperty("ratelimit.ai.user.capacity", String.valueOf(capacity));
+        environment.setProperty("ratelimit.ai.user.refill-per-minute", String.valueOf(refillPerMinute));
+        return new TokenBucketRateLimiter(environment, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void allowsBurstUpToCapacityThenReportsRetryAfter() {
+        TokenBucketRateLimiter limiter = limiter(3, 6);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryConsume("ai", "user", "alice")).isZero();
+        }
+        // 6 per minute = one token every 10 seconds
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isBetween(9L, 10L);
+    }
+
+    @Test
+    void bucketsAreIndependentPerIdAndScope() {
+        TokenBucketRateLimiter limiter = limiter(1, 1);
+
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isZero();
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isPositive();
+        assertThat(limiter.tryConsume("ai", "user", "bob")).isZero();
+        assertThat(limiter.tryConsume("advice", "user", "alice")).isZero();
+    }
+
+    @Test
+    void refillsFromElapsedTime() throws InterruptedException {
+        // 60000 per minute = one token per millisecond
+        TokenBucketRateLimiter limiter = limiter(1, 60_000);
+
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isZero();
+        Thread.sleep(5);
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isZero();
+    }
+
+    @Test
+    void zeroLimitsAreClampedInsteadOfBlockingForever() {
+        TokenBucketRateLimiter limiter = limiter(0, 0);
+
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isZero();
+        assertThat(limiter.tryConsume("ai", "user", "alice")).isBetween(59L, 60L);
+    }
+
+    @Test
+    void concurrentCallersNeverOverdrawTheBucket() throws Exception {
+        TokenBucketRateLimiter limiter = limiter(50, 1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryConsume("ai", "user", "alice") == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get();
+            }
+            // 800 attempts, 50 tokens, refill too slow to add one during the test
+            assertThat(allowed).isEqualTo(50);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statsDoNotExposeEmailsOrAddresses() {
+        TokenBucketRateLimiter limiter = limiter(5, 5);
+
+        limiter.tryConsume("ai", "user", "alice@example.com");
+        limiter.tryConsume("ai", "user", "alice@example.com");
+        limiter.tryConsume("ai", "ip", "203.0.113.7");
+
+        Map<String, Object> lowest = (Map<String, Object>) limiter.stats(10).get("lowestBuckets");
+        assertThat(lowest).hasSize(2);
+        assertThat(lowest.keySet()).allSatisfy(key -> assertThat(key)
+                .doesNotContain("alice")
+                .doesNotContain("203.0.113.7")
+                .matches("ai\\|(user|ip)\\|[0-9a-f]{12}"));
+        // the same client keeps the same hash between reads
+        assertThat(limiter.stats(10).get("lowestBuckets")).isEqualTo(lowest);
+    }
+
+    @Test
+    void onlyFullIdleBucketsAreEvicted() throws InterruptedException {
+        environment.setProperty("ratelimit.idle-eviction-ms", "0");
+        environment.setProperty("ratelimit.advice.user.capacity", "1");
+        environment.setProperty("ratelimit.advice.user.refill-per-minute", "1");
+        TokenBucketRateLimiter limiter = limiter(1, 60_000);
+
+        limiter.tryConsume("ai", "user", "alice");
+        limiter.tryConsume("advice", "user", "alice");
+        assertThat(limiter.stats(10)).containsEntry("buckets", 2);
+
+        // the "ai" bucket refills in a millisecond, the "advice" one needs a minute
+        Thread.sleep(5);
+        limiter.evictIdle();
+        assertThat(limiter.stats(10)).containsEntry("buckets", 1);
+    }
+}
@@ -0,0 +1,214 @@
+package com.aicareercoach.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.aicareercoach.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("llm.limiter.cooldown-ms", "0")
+            .withProperty("llm.retry.max-attempts", "1");
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new AdaptiveConcurrencyLimiter(environment, meterRegistry, new DependencyGuard(environment, meterRegistry));
+    }
+
+    @Test
+    void successGrowsTheLimitAdditively() {
+        environment.setProperty("llm.limiter.initial-limit", "1");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        succeed(limiter);
+        assertThat(stat(limiter, "limit")).isEqualTo(2.0);
+        succeed(limiter);
+        assertThat(stat(limiter, "limit")).isEqualTo(2.5);
+    }
+
+    @Test
+    void overloadShrinksTheLimitMultiplicatively() {
+        environment.setProperty("llm.limiter.initial-limit", "10");
+        environment.setProperty("llm.limiter.backoff-ratio", "0.5");
+        environment.setProperty("llm.limiter.min-limit", "2");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        fail(limiter, 429);
+        assertThat(stat(limiter, "limit")).isEqualTo(5.0);
+        fail(limiter, 503);
+        assertThat(stat(limiter, "limit")).isEqualTo(2.5);
+        fail(limiter, 429);
+        assertThat(stat(limiter, "limit")).isEqualTo(2.0);
+    }
+
+    @Test
+    void otherErrorsLeaveTheLimitAlone() {
+        environment.setProperty("llm.limiter.initial-limit", "10");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        fail(limiter, 500);
+        fail(limiter, 400);
+
+        assertThat(stat(limiter, "limit")).isEqualTo(10.0);
+        assertThat(stat(limiter, "inFlight")).isEqualTo(0);
+    }
+
+    @Test
+    void cooldownAllowsOneDecreasePerWindow() {
+        environment.setProperty("llm.limiter.initial-limit", "10");
+        environment.setProperty("llm.limiter.backoff-ratio", "0.5");
+        environment.setProperty("llm.limiter.cooldown-ms", "60000");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        fail(limiter, 429);
+        fail(limiter, 429);
+
+        assertThat(stat(limiter, "limit")).isEqualTo(5.0);
+    }
+
+    @Test
+    void limitNeverExceedsTheBulkhead() {
+        environment.setProperty("llm.limiter.initial-limit", "10");
+        environment.setProperty("resilience.default.max-concurrent", "3");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        succeed(limiter);
+        assertThat(stat(limiter, "limit")).isEqualTo(3.0);
+        for (int i = 0; i < 20; i++) {
+            succeed(limiter);
+        }
+        assertThat(stat(limiter, "limit")).isEqualTo(3.0);
+    }
+
+    @Test
+    void callsOverTheLimitWaitForASlot() {
+        environment.setProperty("llm.limiter.initial-limit", "1");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        Sinks.One<String> first = Sinks.one();
+
+        Mono<String> running = limiter.run("groq", LlmPriority.INTERACTIVE, "alice", first::asMono).cache();
+        running.subscribe();
+        Mono<String> queued = limiter.run("groq", LlmPriority.INTERACTIVE, "bob", () -> Mono.just("second")).cache();
+        queued.subscribe();
+
+        assertThat(stat(limiter, "inFlight")).isEqualTo(1);
+        assertThat(stat(limiter, "queuedInteractive")).isEqualTo(1);
+
+        first.tryEmitValue("first");
+        assertThat(running.block()).isEqualTo("first");
+        assertThat(queued.block()).isEqualTo("second");
+        assertThat(stat(limiter, "inFlight")).isEqualTo(0);
+        assertThat(stat(limiter, "queuedInteractive")).isEqualTo(0);
+    }
+
+    @Test
+    void queueTimeoutFailsWithServiceBusy() {
+        environment.setProperty("llm.limiter.initial-limit", "1");
+        environment.setProperty("llm.limiter.queue-timeout-ms", "50");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        limiter.run("groq", LlmPriority.INTERACTIVE, "alice", Mono::<String>never).subscribe();
+
+        assertThatThrownBy(() -> limiter.run("groq", LlmPriority.BATCH, "bob", () -> Mono.just("late")).block())
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(stat(limiter, "queuedBatch")).isEqualTo(0);
+    }
+
+    @Test
+    void retryableErrorsAreRetried() {
+        environment.setProperty("llm.retry.max-attempts", "3");
+        environment.setProperty("llm.retry.base-delay-ms", "1");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = limiter.run("groq", LlmPriority.INTERACTIVE, "alice", () -> attempts.incrementAndGet() < 3
+                ? Mono.error(error(503, HttpHeaders.EMPTY))
+                : Mono.just("ok")).block();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void overloadLeftAfterRetriesBecomesServiceBusy() {
+        environment.setProperty("llm.retry.max-attempts", "2");
+        environment.setProperty("llm.retry.base-delay-ms", "1");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "0");
+
+        assertThatThrownBy(() -> limiter.run("groq", LlmPriority.INTERACTIVE, "alice",
+                () -> Mono.error(error(429, headers))).block())
+                .isInstanceOfSatisfying(ServiceBusyException.class, e -> assertThat(e.getRetryAfterSeconds()).isPositive())
+                .hasCauseInstanceOf(WebClientResponseException.class);
+    }
+
+    @Test
+    void retryAfterBeyondMaxDelayFailsFastInsteadOfSleeping() {
+        environment.setProperty("llm.retry.max-attempts", "3");
+        environment.setProperty("llm.retry.max-delay-ms", "5000");
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AtomicInteger attempts = new AtomicInteger();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3600");
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> limiter.run("groq", LlmPriority.INTERACTIVE, "alice", () -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(error(429, headers));
+        }).block())
+                .isInstanceOfSatisfying(ServiceBusyException.class, e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(3600));
+
+        assertThat(attempts).hasValue(1);
+        assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+    }
+
+    @Test
+    void retryAfterIsReadAsSecondsOrHttpDate() {
+        HttpHeaders seconds = new HttpHeaders();
+        seconds.set(HttpHeaders.RETRY_AFTER, "7");
+        HttpHeaders date = new HttpHeaders();
+        date.set(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30)));
+        HttpHeaders garbage = new HttpHeaders();
+        garbage.set(HttpHeaders.RETRY_AFTER, "soon");
+
+        assertThat(AdaptiveConcurrencyLimiter.retryAfterMs(error(429, seconds))).isEqualTo(7000);
+        assertThat(AdaptiveConcurrencyLimiter.retryAfterMs(error(429, date))).isBetween(28_000L, 30_000L);
+        assertThat(AdaptiveConcurrencyLimiter.retryAfterMs(error(429, garbage))).isZero();
+        assertThat(AdaptiveConcurrencyLimiter.retryAfterMs(new IllegalStateException())).isZero();
+    }
+
+    private static void succeed(AdaptiveConcurrencyLimiter limiter) {
+        limiter.run("groq", LlmPriority.INTERACTIVE, "alice", () -> Mono.just("ok")).block();
+    }
+
+    private static void fail(AdaptiveConcurrencyLimiter limiter, int status) {
+        assertThatThrownBy(() -> limiter.run("groq", LlmPriority.INTERACTIVE, "alice",
+                () -> Mono.error(error(status, HttpHeaders.EMPTY))).block())
+                .isInstanceOf(status == 429 || status == 503 ? ServiceBusyException.class : WebClientResponseException.class);
+    }
+
+    private static WebClientResponseException error(int status, HttpHeaders headers) {
+        return WebClientResponseException.create(status, "status " + status, headers, new byte[0], null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object stat(AdaptiveConcurrencyLimiter limiter, String key) {
+        return ((Map<String, Object>) limiter.stats().get("groq")).get(key);
+    }
+}
@@ -0,0 +1,59 @@
+package com.aicareercoach.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class AdviceHistoryServiceTest {
+
+    @Test
+    void cursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+
+        String[] position = AdviceHistoryService.decodeCursor(AdviceHistoryService.encodeCursor(createdAt, 42L));
+
+        assertThat(LocalDateTime.parse(position[0])).isEqualTo(createdAt);
+        assertThat(Long.parseLong(position[1])).isEqualTo(42L);
+    }
+
+    @Test
+    void cursorRoundTripsWholeMinutes() {
+        // LocalDateTime.toString drops zero seconds ("2025-01-01T00:00")
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        String[] position = AdviceHistoryService.decodeCursor(AdviceHistoryService.encodeCursor(createdAt, 1L));
+
+        assertThat(LocalDateTime.parse(position[0])).isEqualTo(createdAt);
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = AdviceHistoryService.encodeCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_999_999), Long.MAX_VALUE);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> AdviceHistoryService.decodeCursor("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> AdviceHistoryService.decodeCursor(encode("2025-01-01T00:00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdviceHistoryService.decodeCursor(encode("2025-01-01T00:00|1|2")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdviceHistoryService.decodeCursor(encode("yesterday|1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdviceHistoryService.decodeCursor(encode("2025-01-01T00:00|one")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,149 @@
+package com.aicareercoach.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.aicareercoach.exception.ServiceBusyException;
+import com.aicareercoach.service.DependencyGuard.Guard;
+import com.aicareercoach.service.DependencyGuard.State;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class DependencyGuardTest {
+
+    @Test
+    void staysClosedBelowMinCalls() {
+        Guard guard = new Guard(10, 4, 4, 0.5, 60_000, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(guard.tryAcquirePermission()).isTrue();
+            guard.onFailure();
+        }
+        assertThat(guard.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void opensAtFailureRateAndFailsFast() {
+        Guard guard = new Guard(10, 4, 4, 0.5, 60_000, 1);
+
+        guard.onSuccess();
+        guard.onSuccess();
+        guard.onFailure();
+        assertThat(guard.state()).isEqualTo(State.CLOSED);
+        guard.onFailure();
+
+        assertThat(guard.state()).isEqualTo(State.OPEN);
+        assertThat(guard.tryAcquirePermission()).isFalse();
+        assertThat(guard.retryAfterSeconds()).isBetween(59L, 60L);
+    }
+
+    @Test
+    void oldOutcomesSlideOutOfTheWindow() {
+        Guard guard = new Guard(10, 4, 4, 0.75, 60_000, 1);
+
+        guard.onFailure();
+        guard.onFailure();
+        for (int i = 0; i < 4; i++) {
+            guard.onSuccess();
+        }
+        // the two failures are gone, one more doesn't reach 75% of 4
+        guard.onFailure();
+        guard.onFailure();
+        assertThat(guard.state()).isEqualTo(State.CLOSED);
+        guard.onFailure();
+        assertThat(guard.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void halfOpenLetsProbesThroughAndClosesWhenTheyAllSucceed() {
+        Guard guard = opened(2);
+
+        assertThat(guard.tryAcquirePermission()).isTrue();
+        assertThat(guard.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(guard.tryAcquirePermission()).isTrue();
+        assertThat(guard.tryAcquirePermission()).isFalse();
+
+        guard.onSuccess();
+        assertThat(guard.state()).isEqualTo(State.HALF_OPEN);
+        // a succeeded probe still counts, no third probe
+        assertThat(guard.tryAcquirePermission()).isFalse();
+        guard.onSuccess();
+
+        assertThat(guard.state()).isEqualTo(State.CLOSED);
+        assertThat(guard.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void failedProbeOpensAgain() {
+        Guard guard = opened(2);
+
+        assertThat(guard.tryAcquirePermission()).isTrue();
+        guard.onFailure();
+
+        assertThat(guard.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void releasedProbeFreesItsSlot() {
+        Guard guard = opened(1);
+
+        assertThat(guard.tryAcquirePermission()).isTrue();
+        assertThat(guard.tryAcquirePermission()).isFalse();
+        guard.releasePermission();
+
+        assertThat(guard.tryAcquirePermission()).isTrue();
+        assertThat(guard.state()).isEqualTo(State.HALF_OPEN);
+    }
+
+    @Test
+    void bulkheadRejectsOverflowAndReleasesWhenTheCallEnds() {
+        MockEnvironment environment = new MockEnvironment().withProperty("resilience.gemini.max-concurrent", "1");
+        DependencyGuard dependencyGuard = new DependencyGuard(environment, new SimpleMeterRegistry());
+        Sinks.One<String> pending = Sinks.one();
+
+        Mono<String> first = dependencyGuard.call("gemini", pending::asMono).cache();
+        first.subscribe();
+
+        assertThatThrownBy(() -> dependencyGuard.call("gemini", () -> Mono.just("second")).block())
+                .isInstanceOf(ServiceBusyException.class)
+                .hasMessageContaining("at capacity");
+
+        pending.tryEmitValue("first");
+        assertThat(first.block()).isEqualTo("first");
+        assertThat(dependencyGuard.call("gemini", () -> Mono.just("third")).block()).isEqualTo("third");
+    }
+
+    @Test
+    void streamRecordsOneOutcomePerStreamNotPerChunk() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DependencyGuard dependencyGuard = new DependencyGuard(new MockEnvironment(), meterRegistry);
+
+        assertThat(dependencyGuard.stream("gemini", () -> Flux.just("a", "b", "c")).collectList().block())
+                .containsExactly("a", "b", "c");
+        assertThatThrownBy(() -> dependencyGuard.stream("gemini",
+                () -> Flux.concat(Flux.just("a"), Flux.<String>error(new IllegalStateException("cut off")))).blockLast())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.counter("resilience.calls", "dependency", "gemini", "result", "success").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("resilience.calls", "dependency", "gemini", "result", "failure").count()).isEqualTo(1);
+        assertThat(dependencyGuard.stats()).extractingByKey("gemini")
+                .asInstanceOf(MAP)
+                .containsEntry("callsInWindow", 2)
+                .containsEntry("availableConcurrency", 20);
+    }
+
+    // a guard that has just opened and lets probes through right away (open-ms 0)
+    private static Guard opened(int probes) {
+        Guard guard = new Guard(10, 2, 1, 0.5, 0, probes);
+        guard.onFailure();
+        assertThat(guard.state()).isEqualTo(State.OPEN);
+        return guard;
+    }
+}
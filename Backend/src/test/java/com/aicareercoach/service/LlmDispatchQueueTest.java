@@ -0,0 +1,97 @@
+package com.aicareercoach.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LlmDispatchQueueTest {
+
+    private final LlmDispatchQueue<String> queue = new LlmDispatchQueue<>(Map.of(
+            LlmPriority.INTERACTIVE, 8,
+            LlmPriority.BATCH, 1));
+
+    @Test
+    void emptyQueuePollsNull() {
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void classesAreServedByWeight() {
+        for (int i = 0; i < 40; i++) {
+            queue.add(LlmPriority.INTERACTIVE, "alice", "i" + i);
+            queue.add(LlmPriority.BATCH, "bob", "b" + i);
+        }
+
+        // every round of 9 has exactly 8 interactive and 1 batch
+        for (int round = 0; round < 4; round++) {
+            List<String> polled = poll(9);
+            assertThat(polled).filteredOn(item -> item.startsWith("i")).hasSize(8);
+            assertThat(polled).filteredOn(item -> item.startsWith("b")).hasSize(1);
+        }
+        assertThat(queue.size()).isEqualTo(80 - 36);
+    }
+
+    @Test
+    void lowWeightClassIsNotStarved() {
+        for (int i = 0; i < 100; i++) {
+            queue.add(LlmPriority.INTERACTIVE, "alice", "i" + i);
+        }
+        queue.add(LlmPriority.BATCH, "bob", "b0");
+
+        assertThat(poll(9)).contains("b0");
+    }
+
+    @Test
+    void idleClassDoesNotBankCredit() {
+        for (int i = 0; i < 20; i++) {
+            queue.add(LlmPriority.BATCH, "bob", "b" + i);
+        }
+        // batch runs alone for a while, then interactive shows up
+        poll(10);
+        for (int i = 0; i < 20; i++) {
+            queue.add(LlmPriority.INTERACTIVE, "alice", "i" + i);
+        }
+
+        assertThat(poll(9)).filteredOn(item -> item.startsWith("b")).hasSize(1);
+    }
+
+    @Test
+    void usersWithinAClassTakeTurns() {
+        queue.add(LlmPriority.INTERACTIVE, "alice", "a1");
+        queue.add(LlmPriority.INTERACTIVE, "alice", "a2");
+        queue.add(LlmPriority.INTERACTIVE, "alice", "a3");
+        queue.add(LlmPriority.INTERACTIVE, "bob", "b1");
+        queue.add(LlmPriority.INTERACTIVE, "carol", "c1");
+
+        assertThat(poll(5)).containsExactly("a1", "b1", "c1", "a2", "a3");
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void removeDropsTheItemAndKeepsCountsRight() {
+        queue.add(LlmPriority.INTERACTIVE, "alice", "a1");
+        queue.add(LlmPriority.BATCH, "bob", "b1");
+
+        assertThat(queue.remove(LlmPriority.INTERACTIVE, "alice", "a1")).isTrue();
+        assertThat(queue.remove(LlmPriority.INTERACTIVE, "alice", "a1")).isFalse();
+        assertThat(queue.remove(LlmPriority.BATCH, "alice", "b1")).isFalse();
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.size(LlmPriority.INTERACTIVE)).isZero();
+        assertThat(queue.size(LlmPriority.BATCH)).isEqualTo(1);
+        assertThat(queue.poll()).isEqualTo("b1");
+    }
+
+    private List<String> poll(int count) {
+        List<String> polled = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            polled.add(queue.poll());
+        }
+        return polled;
+    }
+}
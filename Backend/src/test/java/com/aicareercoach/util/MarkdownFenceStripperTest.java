@@ -0,0 +1,80 @@
+package com.aicareercoach.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MarkdownFenceStripperTest {
+
+    @Test
+    void plainTextPassesThroughAsItArrives() {
+        MarkdownFenceStripper stripper = new MarkdownFenceStripper();
+
+        assertThat(stripper.accept("Hello")).isEqualTo("Hello");
+        assertThat(stripper.accept(" world")).isEqualTo(" world");
+        assertThat(stripper.finish()).isEmpty();
+    }
+
+    @Test
+    void leadingWhitespaceIsTrimmed() {
+        assertThat(strip("  \n", " \tHi there")).isEqualTo("Hi there");
+    }
+
+    @Test
+    void fencedReplyLosesOpeningLineAndClosingFence() {
+        assertThat(strip("```markdown\n# Title\n\nBody\n```")).isEqualTo("# Title\n\nBody");
+    }
+
+    @Test
+    void fenceSplitAcrossChunks() {
+        assertThat(strip("`", "`", "`js", "on\n{\"a\"", ":1}\n`", "``\n")).isEqualTo("{\"a\":1}");
+    }
+
+    @Test
+    void holdsBackWhileItCannotTellIfItIsAFence() {
+        MarkdownFenceStripper stripper = new MarkdownFenceStripper();
+
+        assertThat(stripper.accept("``")).isEmpty();
+        assertThat(stripper.accept("x")).isEqualTo("``x");
+    }
+
+    @Test
+    void backticksInsideTheBodyAreKept() {
+        assertThat(strip("```\nUse `git rebase`", " then ```code``` inline\n```")).isEqualTo("Use `git rebase` then ```code``` inline");
+    }
+
+    @Test
+    void trailingWhitespaceInsideTheBodyIsFlushedWithTheNextChunk() {
+        MarkdownFenceStripper stripper = new MarkdownFenceStripper();
+
+        assertThat(stripper.accept("```\nline one\n")).isEqualTo("line one");
+        assertThat(stripper.accept("line two")).isEqualTo("\nline two");
+        assertThat(stripper.finish()).isEmpty();
+    }
+
+    @Test
+    void unterminatedFenceStillYieldsTheBody() {
+        assertThat(strip("```\nBody without a closing fence  ")).isEqualTo("Body without a closing fence");
+    }
+
+    @Test
+    void loneFenceYieldsNothing() {
+        assertThat(strip("```")).isEmpty();
+        assertThat(strip("```python")).isEmpty();
+    }
+
+    @Test
+    void emptyAndWhitespaceOnlyStreams() {
+        assertThat(strip()).isEmpty();
+        assertThat(strip(" ", "\n")).isEmpty();
+    }
+
+    private static String strip(String... chunks) {
+        MarkdownFenceStripper stripper = new MarkdownFenceStripper();
+        StringBuilder out = new StringBuilder();
+        for (String chunk : chunks) {
+            out.append(stripper.accept(chunk));
+        }
+        return out.append(stripper.finish()).toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.aicareercoach.util;
+
+/*
+ * Incremental version of the ``` fence stripping done in AIController.chatWithAI.
+ * Feed it chunks with accept(), it returns the text that is safe to emit now;
+ * call finish() once the stream ends to flush what was held back.
+ *
+ * Not thread safe - one instance per stream.
+ */
+public class MarkdownFenceStripper {
+
+    private static final String FENCE = "```";
+
+    private final StringBuilder pending = new StringBuilder();
+    private boolean started;   // saw the first non-whitespace text
+    private boolean fenced;    // reply opened with ```, so drop the opening line and closing fence
+    private boolean openingLineDone;
+
+    public String accept(String chunk) {
+        pending.append(chunk);
+
+        if (!started) {
+            // leading whitespace is trimmed, same as the blocking endpoint
+            int first = 0;
+            while (first < pending.length() && Character.isWhitespace(pending.charAt(first))) {
+                first++;
+            }
+            pending.delete(0, first);
+            if (pending.length() < FENCE.length() && FENCE.startsWith(pending.toString())) {
+                return "";   // can't tell yet if this is a fence
+            }
+            started = pending.length() > 0;
+            fenced = started && pending.indexOf(FENCE) == 0;
+            if (!started) {
+                return "";
+            }
+        }
+
+        if (!fenced) {
+            String out = pending.toString();
+            pending.setLength(0);
+            return out;
+        }
+
+        if (!openingLineDone) {
+            // drop "```lang\n"
+            int newline = pending.indexOf("\n");
+            if (newline == -1) {
+                return "";
+            }
+            pending.delete(0, newline + 1);
+            openingLineDone = true;
+        }
+
+        // hold back trailing backticks/whitespace, they may be the closing fence
+        int keep = pending.length();
+        while (keep > 0 && (pending.charAt(keep - 1) == '`' || Character.isWhitespace(pending.charAt(keep - 1)))) {
+            keep--;
+        }
+        String out = pending.substring(0, keep);
+        pending.delete(0, keep);
+        return out;
+    }
+
+    public String finish() {
+        String rest = pending.toString();
+        pending.setLength(0);
+        if (fenced) {
+            if (!openingLineDone) {
+                // a lone ``` line with no body, nothing useful to show
+                return "";
+            }
+            rest = rest.stripTrailing();
+            if (rest.endsWith(FENCE)) {
+                rest = rest.substring(0, rest.length() - FENCE.length());
+            }
+        }
+        return rest.stripTrailing();
+    }
+}